@@ -0,0 +1,80 @@
+package de.incentergy.geometry.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Compares two JMH result files produced with {@code -rf json} and prints the relative change of every benchmark present in both.<br>
+ * Exits with a non-zero status if any benchmark got slower by more than the given threshold (in percent, 10 by default).
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar de.incentergy.geometry.benchmark.BaselineComparison baseline.json target/jmh-result.json [thresholdPercent]
+ * </pre>
+ */
+public final class BaselineComparison {
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double thresholdPercent = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        Map<String, Double> baseline = readScores(args[0]);
+        Map<String, Double> current = readScores(args[1]);
+
+        boolean regressed = false;
+        for (Map.Entry<String, Double> entry : new TreeMap<>(current).entrySet()) {
+            Double baselineScore = baseline.get(entry.getKey());
+            if (baselineScore == null) {
+                System.out.printf("%-100s %14s %14.3f%n", entry.getKey(), "-", entry.getValue());
+                continue;
+            }
+            // all benchmarks measure average time, so a positive change is a slowdown
+            double changePercent = (entry.getValue() - baselineScore) / baselineScore * 100;
+            boolean isRegression = changePercent > thresholdPercent;
+            regressed |= isRegression;
+            System.out.printf("%-100s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), baselineScore, entry.getValue(), changePercent, isRegression ? "  REGRESSION" : "");
+        }
+
+        if (regressed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads primary scores keyed by benchmark name and parameters
+     */
+    private static Map<String, Double> readScores(String fileName) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8)) {
+            JsonArray results = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement element : results) {
+                JsonObject result = element.getAsJsonObject();
+                StringBuilder key = new StringBuilder(result.get("benchmark").getAsString());
+                if (result.has("params")) {
+                    for (Map.Entry<String, JsonElement> param : new TreeMap<>(result.getAsJsonObject("params").asMap()).entrySet()) {
+                        key.append(' ').append(param.getKey()).append('=').append(param.getValue().getAsString());
+                    }
+                }
+                double score = result.getAsJsonObject("primaryMetric").get("score").getAsDouble();
+                scores.put(key.toString(), score);
+            }
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,92 @@
+package de.incentergy.geometry.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.benchmark.PolygonGenerator.Shape;
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+import de.incentergy.geometry.utils.GeometryUtils;
+import de.incentergy.geometry.utils.GeometryUtils.IntersectionCoordinate;
+import de.incentergy.geometry.utils.RingCrossingIndex;
+
+/**
+ * Microbenchmarks for the helpers in {@link GeometryUtils} and {@link GeometryFactoryUtils} used on the hot path of the splitter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryUtilsBenchmark {
+
+    @Param({ "4", "16", "64", "256", "1024" })
+    private int vertexCount;
+
+    @Param({ "CONCAVE" })
+    private Shape shape;
+
+    @Param({ "42" })
+    private long seed;
+
+    private Polygon polygon;
+
+    // a line between midpoints of two facing edges, used for slicing and intersection checks
+    private LineSegment lineOfCut;
+    private RingCrossingIndex ringCrossingIndex;
+
+    // an edge pair with a non-parallel opposing edge, used for projections
+    private LineSegment edgeA;
+    private LineSegment edgeB;
+    private IntersectionCoordinate intersectionPoint;
+
+    @Setup
+    public void setUp() {
+        polygon = PolygonGenerator.generate(shape, vertexCount, seed);
+
+        List<LineSegment> segments = GeometryUtils.getLineSegments(polygon.getExteriorRing());
+        // the first segment of the bottom and the last one of the top, facing it
+        edgeA = segments.get(0);
+        edgeB = segments.get(segments.size() - 2);
+        lineOfCut = new LineSegment(edgeA.midPoint(), edgeB.midPoint());
+        ringCrossingIndex = new RingCrossingIndex(polygon);
+
+        intersectionPoint = GeometryUtils.getIntersectionPoint(edgeA, edgeB);
+    }
+
+    @Benchmark
+    public Polygon slicePolygon() {
+        return GeometryFactoryUtils.slicePolygon(polygon, lineOfCut.p0, lineOfCut.p1);
+    }
+
+    @Benchmark
+    public boolean isIntersectingPolygon() {
+        return GeometryUtils.isIntersectingPolygon(lineOfCut, polygon);
+    }
+
+    @Benchmark
+    public boolean isIntersectingIndexed() {
+        return ringCrossingIndex.isIntersecting(lineOfCut);
+    }
+
+    @Benchmark
+    public Coordinate getProjectedPoint() {
+        return GeometryUtils.getProjectedPoint(edgeB.p0, edgeA, intersectionPoint);
+    }
+}
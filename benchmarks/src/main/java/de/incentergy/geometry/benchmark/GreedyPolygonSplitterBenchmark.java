@@ -0,0 +1,84 @@
+package de.incentergy.geometry.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.PolygonSplitter;
+import de.incentergy.geometry.benchmark.PolygonGenerator.Shape;
+import de.incentergy.geometry.impl.GreedyPolygonSplitter;
+import de.incentergy.geometry.impl.RecursiveBisectionPolygonSplitter;
+import de.incentergy.geometry.impl.ValidationPolicy;
+
+/**
+ * Measures a complete {@link GreedyPolygonSplitter#split(Polygon, int)} call, compared to other configurations and to
+ * {@link RecursiveBisectionPolygonSplitter}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GreedyPolygonSplitterBenchmark {
+
+    @Param({ "4", "16", "64", "256", "1024" })
+    private int vertexCount;
+
+    @Param({ "2", "4", "8" })
+    private int parts;
+
+    @Param({ "CONVEX", "CONCAVE", "RECTILINEAR" })
+    private Shape shape;
+
+    @Param({ "42" })
+    private long seed;
+
+    private Polygon polygon;
+    private PolygonSplitter splitter;
+    private PolygonSplitter parallelSplitter;
+    private PolygonSplitter areaOnlySplitter;
+    private PolygonSplitter bisectionSplitter;
+
+    @Setup
+    public void setUp() {
+        polygon = PolygonGenerator.generate(shape, vertexCount, seed);
+        splitter = new GreedyPolygonSplitter();
+        parallelSplitter = new GreedyPolygonSplitter().parallel();
+        areaOnlySplitter = new GreedyPolygonSplitter().withValidationPolicy(ValidationPolicy.AREA_ONLY);
+        bisectionSplitter = new RecursiveBisectionPolygonSplitter();
+    }
+
+    @Benchmark
+    public List<Polygon> split() {
+        return splitter.split(polygon, parts);
+    }
+
+    @Benchmark
+    public List<Polygon> splitParallel() {
+        return parallelSplitter.split(polygon, parts);
+    }
+
+    @Benchmark
+    public List<Polygon> splitAreaOnly() {
+        return areaOnlySplitter.split(polygon, parts);
+    }
+
+    @Benchmark
+    public List<Polygon> splitRecursiveBisection() {
+        return bisectionSplitter.split(polygon, parts);
+    }
+}
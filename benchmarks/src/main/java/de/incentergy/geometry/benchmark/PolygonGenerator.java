@@ -0,0 +1,165 @@
+package de.incentergy.geometry.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+
+/**
+ * Generates reproducible polygons for benchmarking.<br>
+ * The same seed, vertex count and shape always produce the same polygon, so measurements taken on different commits can be compared.
+ */
+public final class PolygonGenerator {
+
+    private static final double RADIUS = 1000;
+
+    public enum Shape {
+        /** Vertices lie on a circle at random angles */
+        CONVEX,
+        /** Sawtooth polygon with a flat bottom and a zigzag top, every valley of the top is a reflex vertex (a dart if there are only 4 vertices) */
+        CONCAVE,
+        /** Histogram-like polygon with axis-parallel edges only (a rectangle if there are only 4 vertices) */
+        RECTILINEAR
+    }
+
+    private PolygonGenerator() {
+    }
+
+    public static Polygon generate(Shape shape, int vertexCount, long seed) {
+        switch (shape) {
+            case CONVEX:
+                return convex(vertexCount, seed);
+            case CONCAVE:
+                return concave(vertexCount, seed);
+            case RECTILINEAR:
+                return rectilinear(vertexCount, seed);
+            default:
+                throw new IllegalArgumentException("Unsupported shape: " + shape);
+        }
+    }
+
+    /**
+     * Creates a convex polygon with vertices located on a circle at random (but distinct) angles, in counter-clockwise order
+     */
+    public static Polygon convex(int vertexCount, long seed) {
+        Random random = new Random(seed);
+        double[] angles = getJitteredAngles(vertexCount, random);
+
+        Coordinate[] vertices = new Coordinate[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            vertices[i] = new Coordinate(round(RADIUS * Math.cos(angles[i])), round(RADIUS * Math.sin(angles[i])));
+        }
+        return GeometryFactoryUtils.createPolygon(vertices);
+    }
+
+    /**
+     * Creates a sawtooth polygon, in counter-clockwise order: a flat bottom edge divided into segments and a top zigzagging between peaks and
+     * shallow valleys of random heights. Every valley is a reflex vertex. A quadrilateral is a dart instead, having a single deep valley in the
+     * middle of its top.
+     * <p>
+     * The segments of the bottom face the segments of the top, so that the pieces between many pairs of them lie inside the polygon and a line
+     * of cut can be found. Deeper valleys would make the pieces of most edge pairs reach outside of the polygon, in which case no cut is
+     * found.<br>
+     * Polygons of the sizes benchmarked can be split into the numbers of parts benchmarked, this is not guaranteed for other combinations
+     * (e.g. some polygons of 5 or 6 vertices can't be split into 3 parts).
+     *
+     * @param vertexCount number of vertices, at least 4
+     */
+    public static Polygon concave(int vertexCount, long seed) {
+        if (vertexCount < 4) {
+            throw new IllegalArgumentException("Concave polygon must have at least 4 vertices");
+        }
+        Random random = new Random(seed);
+        if (vertexCount == 4) {
+            return GeometryFactoryUtils.createPolygon(new Coordinate(-RADIUS, 0), new Coordinate(RADIUS, 0),
+                    new Coordinate(RADIUS, round(RADIUS * (0.8 + 0.2 * random.nextDouble()))),
+                    new Coordinate(0, round(RADIUS * (0.2 + 0.2 * random.nextDouble()))));
+        }
+        int bottomCount = vertexCount / 2;
+        int topCount = vertexCount - bottomCount;
+
+        Coordinate[] vertices = new Coordinate[vertexCount];
+        double[] bottom = getJitteredPositions(bottomCount, random);
+        for (int k = 0; k < bottomCount; k++) {
+            vertices[k] = new Coordinate(round(bottom[k]), 0);
+        }
+
+        // walk the top from right to left, so that the ring is counter-clockwise: peaks at even positions, valleys at odd ones
+        double[] top = getJitteredPositions(topCount, random);
+        for (int k = 0; k < topCount; k++) {
+            double height = RADIUS * (k % 2 == 0 ? 0.85 + 0.15 * random.nextDouble() : 0.7 + 0.15 * random.nextDouble());
+            vertices[bottomCount + k] = new Coordinate(round(top[topCount - 1 - k]), round(height));
+        }
+        return GeometryFactoryUtils.createPolygon(vertices);
+    }
+
+    /**
+     * Positions from -RADIUS to RADIUS (both included), spread evenly and then moved randomly within their own step, so they stay sorted and
+     * distinct
+     */
+    private static double[] getJitteredPositions(int count, Random random) {
+        double step = 2 * RADIUS / (count - 1);
+        double[] positions = new double[count];
+        for (int k = 0; k < count; k++) {
+            positions[k] = k == 0 ? -RADIUS : k == count - 1 ? RADIUS : -RADIUS + step * (k - 0.4 + 0.8 * random.nextDouble());
+        }
+        return positions;
+    }
+
+    /**
+     * Creates a histogram-like polygon: a flat bottom edge and a top made of columns with random heights, in counter-clockwise order.<br>
+     * All coordinates are integers and all edges are axis-parallel, so the points of cut along the edges can be represented exactly.
+     *
+     * @param vertexCount an even number of vertices, at least 4
+     */
+    public static Polygon rectilinear(int vertexCount, long seed) {
+        if (vertexCount < 4 || vertexCount % 2 != 0) {
+            throw new IllegalArgumentException("Rectilinear polygon must have an even number of vertices, at least 4");
+        }
+        Random random = new Random(seed);
+        int columnCount = (vertexCount - 2) / 2;
+        double columnWidth = 2 * RADIUS / columnCount;
+
+        Coordinate[] vertices = new Coordinate[vertexCount];
+        vertices[0] = new Coordinate(-RADIUS, 0);
+        vertices[1] = new Coordinate(RADIUS, 0);
+
+        // walk the top from right to left, so that the ring is counter-clockwise
+        int previousHeight = 0;
+        int index = 2;
+        for (int column = columnCount - 1; column >= 0; column--) {
+            int height;
+            do {
+                height = (int) (RADIUS / 2) + random.nextInt((int) RADIUS);
+            } while (height == previousHeight);         // equal heights of neighbouring columns would produce collinear vertices
+            previousHeight = height;
+
+            vertices[index++] = new Coordinate(Math.round(-RADIUS + (column + 1) * columnWidth), height);
+            vertices[index++] = new Coordinate(Math.round(-RADIUS + column * columnWidth), height);
+        }
+        return GeometryFactoryUtils.createPolygon(vertices);
+    }
+
+    /**
+     * Angles are spread evenly around the circle and then moved randomly within their own sector, so they stay sorted and distinct
+     */
+    private static double[] getJitteredAngles(int count, Random random) {
+        double sector = 2 * Math.PI / count;
+        double[] angles = new double[count];
+        for (int i = 0; i < count; i++) {
+            angles[i] = sector * (i + 0.1 + 0.8 * random.nextDouble());
+        }
+        Arrays.sort(angles);
+        return angles;
+    }
+
+    /**
+     * Rounds to a fixed number of decimal places, so the generated coordinates can be printed as WKT without loss
+     */
+    private static double round(double value) {
+        return Math.round(value * 1e6) / 1e6;
+    }
+}
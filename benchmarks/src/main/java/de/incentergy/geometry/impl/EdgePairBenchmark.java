@@ -0,0 +1,84 @@
+package de.incentergy.geometry.impl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.benchmark.PolygonGenerator;
+import de.incentergy.geometry.benchmark.PolygonGenerator.Shape;
+import de.incentergy.geometry.impl.EdgePair.EdgePairSubpolygons;
+
+/**
+ * Microbenchmarks for a single edge pair evaluation.<br>
+ * Located in the same package as {@link EdgePair} as it is not part of the public API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EdgePairBenchmark {
+
+    @Param({ "4", "16", "64", "256", "1024" })
+    private int vertexCount;
+
+    @Param({ "CONVEX", "CONCAVE", "RECTILINEAR" })
+    private Shape shape;
+
+    @Param({ "42" })
+    private long seed;
+
+    private IndexedPolygon indexedPolygon;
+    private double singlePartArea;
+
+    // edges on the opposite sides of the polygon, depending on the shape they may not yield any cut (just like most pairs evaluated by the splitter)
+    private int indexOfEdgeA;
+    private int indexOfEdgeB;
+    private LineSegment edgeA;
+    private LineSegment edgeB;
+    private EdgePairSubpolygons subpolygons;
+
+    @Setup
+    public void setUp() {
+        Polygon polygon = PolygonGenerator.generate(shape, vertexCount, seed);
+        indexedPolygon = new IndexedPolygon(polygon);
+        singlePartArea = polygon.getArea() / 2;
+
+        List<LineSegment> segments = indexedPolygon.getSegments();
+        indexOfEdgeA = 0;
+        indexOfEdgeB = segments.size() / 2;
+        edgeA = segments.get(indexOfEdgeA);
+        edgeB = segments.get(indexOfEdgeB);
+        subpolygons = new EdgePair(edgeA, edgeB).getSubpolygons();
+    }
+
+    @Benchmark
+    public EdgePair createEdgePair() {
+        return new EdgePair(edgeA, edgeB);
+    }
+
+    @Benchmark
+    public EdgePairSubpolygons getSubpolygons() {
+        return new EdgePair(edgeA, edgeB).getSubpolygons();
+    }
+
+    @Benchmark
+    public List<Cut> getCuts() {
+        return subpolygons.getCuts(indexedPolygon, indexOfEdgeA, indexOfEdgeB, singlePartArea);
+    }
+}
@@ -0,0 +1,197 @@
+package de.incentergy.geometry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+/**
+ * Splits many polygons concurrently using a {@link PolygonSplitter}.<br>
+ * At most a fixed number of polygons are being split at any time, so that a lazily produced input (e.g. read from a file) is not consumed
+ * faster than it can be processed. Outcomes can be passed to a consumer as they complete, so that batches of any size can be split within
+ * bounded memory. A polygon which fails to split is recorded as a failed {@link Outcome} and does not abort the batch.<br>
+ * The input may also be something else than polygons (e.g. unparsed records), in which case each polygon is obtained from its input on the
+ * worker thread, as part of its task.
+ * <p>
+ * The provided splitter is shared by all tasks, thus must be thread-safe. This is true for
+ * {@link de.incentergy.geometry.impl.GreedyPolygonSplitter GreedyPolygonSplitter}, which keeps no state between calls.
+ */
+public class BatchPolygonSplitter {
+
+    /**
+     * Default maximum number of polygons being split at the same time
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 2 * Runtime.getRuntime().availableProcessors();
+
+    private final PolygonSplitter splitter;
+    private final int maxInFlight;
+
+    public BatchPolygonSplitter(PolygonSplitter splitter) {
+        this(splitter, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * @param splitter splitter to use for each polygon
+     * @param maxInFlight maximum number of polygons being split at the same time
+     */
+    public BatchPolygonSplitter(PolygonSplitter splitter, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Maximum number of polygons in flight should be positive!");
+        }
+        this.splitter = Objects.requireNonNull(splitter, "Splitter is required");
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Splits every polygon into the number of parts determined by the provided function.<br>
+     * Keeps all the outcomes until the whole batch is split, thus meant for small batches. Large batches should use
+     * {@link #splitAll(Iterable, ToIntFunction, Executor, Consumer)} instead.
+     *
+     * @param polygons polygons to split, iterated only once
+     * @param parts function determining the number of parts for each polygon
+     * @param executor executor to split the polygons on
+     * @return outcomes in the same order as the input polygons
+     * @throws InterruptedException if the calling thread is interrupted while waiting for a polygon to complete
+     */
+    public List<Outcome> splitAll(Iterable<Polygon> polygons, ToIntFunction<Polygon> parts, Executor executor) throws InterruptedException {
+        List<Outcome> outcomes = new ArrayList<>();
+        splitAll(polygons, parts, executor, outcomes::add);
+        return Collections.unmodifiableList(outcomes);
+    }
+
+    /**
+     * Splits every polygon into the number of parts determined by the provided function, passing the outcomes to the consumer in the same
+     * order as the input polygons.<br>
+     * The calling thread submits the polygons to the executor and passes each outcome to the consumer as soon as it and all the outcomes
+     * before it are complete. Only the outcomes of the polygons in flight are kept in memory: once the maximum number of polygons are in flight,
+     * the calling thread waits for the oldest one to complete before submitting the next polygon. Thus memory use does not grow with the size of
+     * the batch, but a slow polygon holds back the polygons after it.
+     *
+     * @param polygons polygons to split, iterated only once
+     * @param parts function determining the number of parts for each polygon
+     * @param executor executor to split the polygons on
+     * @param consumer consumer of the outcomes, called on the calling thread
+     * @throws InterruptedException if the calling thread is interrupted while waiting for a polygon to complete
+     */
+    public void splitAll(Iterable<Polygon> polygons, ToIntFunction<Polygon> parts, Executor executor, Consumer<Outcome> consumer)
+            throws InterruptedException {
+        splitAll(polygons, Function.identity(), parts, executor, consumer);
+    }
+
+    /**
+     * Same as {@link #splitAll(Iterable, ToIntFunction, Executor, Consumer)}, but for inputs which are turned into polygons on the worker
+     * threads, e.g. records parsed into polygons.<br>
+     * An exception thrown while turning an input into a polygon or while determining its number of parts is recorded as a failed outcome,
+     * just like one thrown while splitting.
+     *
+     * @param inputs inputs of the polygons to split, iterated only once
+     * @param toPolygon function turning an input into the polygon to split, called on the worker thread
+     * @param parts function determining the number of parts for each input
+     * @param executor executor to split the polygons on
+     * @param consumer consumer of the outcomes, called on the calling thread
+     * @throws InterruptedException if the calling thread is interrupted while waiting for a polygon to complete
+     */
+    public <T> void splitAll(Iterable<T> inputs, Function<? super T, Polygon> toPolygon, ToIntFunction<? super T> parts, Executor executor,
+            Consumer<Outcome> consumer) throws InterruptedException {
+        Objects.requireNonNull(inputs, "Inputs are required");
+        Objects.requireNonNull(toPolygon, "Function turning an input into a polygon is required");
+        Objects.requireNonNull(parts, "Function determining the number of parts is required");
+        Objects.requireNonNull(executor, "Executor is required");
+        Objects.requireNonNull(consumer, "Consumer is required");
+
+        Deque<CompletableFuture<Outcome>> inFlight = new ArrayDeque<>(maxInFlight);
+        for (T input : inputs) {
+            if (inFlight.size() == maxInFlight) {
+                consumer.accept(await(inFlight.poll()));
+            }
+
+            CompletableFuture<Outcome> future = new CompletableFuture<>();
+            inFlight.add(future);
+            try {
+                executor.execute(() -> {
+                    try {
+                        future.complete(split(input, toPolygon, parts));
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);            // errors are not recorded as failed outcomes, await() rethrows them
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                future.complete(new Outcome(null, e));
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            consumer.accept(await(inFlight.poll()));
+        }
+    }
+
+    /**
+     * Same as {@link CompletableFuture#join()}, but can be interrupted
+     */
+    private static Outcome await(CompletableFuture<Outcome> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private <T> Outcome split(T input, Function<? super T, Polygon> toPolygon, ToIntFunction<? super T> parts) {
+        try {
+            return new Outcome(splitter.split(toPolygon.apply(input), parts.applyAsInt(input)), null);
+        } catch (RuntimeException e) {
+            return new Outcome(null, e);
+        }
+    }
+
+    /**
+     * Result of splitting a single polygon of the batch: either the parts or the exception thrown while splitting
+     */
+    public static class Outcome {
+        private final List<Polygon> parts;
+        private final RuntimeException failure;
+
+        private Outcome(List<Polygon> parts, RuntimeException failure) {
+            this.parts = parts;
+            this.failure = failure;
+        }
+
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+
+        /**
+         * @return parts of the polygon
+         * @throws IllegalStateException if the polygon failed to split
+         */
+        public List<Polygon> getParts() {
+            if (failure != null) {
+                throw new IllegalStateException("Polygon failed to split", failure);
+            }
+            return parts;
+        }
+
+        /**
+         * @return the exception thrown while splitting, or null if the polygon was split successfully
+         */
+        public RuntimeException getFailure() {
+            return failure;
+        }
+
+        @Override
+        public String toString() {
+            return isSuccessful() ? "Outcome [parts=" + parts + "]" : "Outcome [failure=" + failure + "]";
+        }
+    }
+}
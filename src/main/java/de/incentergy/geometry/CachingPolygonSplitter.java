@@ -0,0 +1,266 @@
+package de.incentergy.geometry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Polygon;
+
+/**
+ * {@link PolygonSplitter} decorator which keeps the parts of recently split polygons, so that splitting the same polygon into the same number
+ * of parts again costs a hash lookup instead of running the decorated splitter.<br>
+ * Polygons are compared by their {@link Polygon#norm() normalized form}, thus a polygon whose exterior ring starts at a different vertex or
+ * goes in the opposite direction is the same polygon. Its parts are the ones produced for the polygon split first, which may be oriented or
+ * ordered differently than the decorated splitter would produce them for the polygon given.
+ * <p>
+ * The least recently used polygons are evicted once either the number of polygons kept or their total weight (the number of coordinates of
+ * the polygons and their parts) exceeds the limit. Failures are not kept.
+ * <p>
+ * Safe to use from multiple threads, provided the decorated splitter is. The lock is not held while splitting, thus concurrent requests for a
+ * polygon which is not kept yet may split it more than once. Every caller gets its own copies of the parts, as JTS geometries are mutable
+ * (e.g. through {@link Polygon#apply(com.vividsolutions.jts.geom.CoordinateFilter)}), thus modifying them does not affect the parts kept.
+ */
+public class CachingPolygonSplitter implements PolygonSplitter {
+
+    /**
+     * Default maximum number of polygons whose parts are kept
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    /**
+     * Default maximum total number of coordinates of the polygons and parts kept
+     */
+    public static final long DEFAULT_MAX_WEIGHT = 1_000_000;
+
+    private final PolygonSplitter splitter;
+    private final int maxEntries;
+    private final long maxWeight;
+
+    private final LinkedHashMap<Key, List<Polygon>> entries = new LinkedHashMap<>(16, 0.75f, true);   // in access order, guarded by itself
+    private long weight;                                                                                // guarded by entries
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingPolygonSplitter(PolygonSplitter splitter) {
+        this(splitter, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * @param splitter splitter to use for polygons which are not kept
+     * @param maxEntries maximum number of polygons whose parts are kept
+     * @param maxWeight maximum total number of coordinates of the polygons and parts kept
+     */
+    public CachingPolygonSplitter(PolygonSplitter splitter, int maxEntries, long maxWeight) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Maximum number of entries should be positive!");
+        }
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Maximum weight should be positive!");
+        }
+        this.splitter = Objects.requireNonNull(splitter, "Splitter is required");
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    @Override
+    public List<Polygon> split(Polygon polygon, int parts) {
+        Key key = new Key(polygon, parts);
+        synchronized (entries) {
+            List<Polygon> polygonParts = entries.get(key);
+            if (polygonParts != null) {
+                hits.increment();
+                return copy(polygonParts);
+            }
+        }
+        misses.increment();
+
+        List<Polygon> polygonParts = new ArrayList<>(splitter.split(polygon, parts));
+        long entryWeight = getWeight(key, polygonParts);
+        if (entryWeight <= maxWeight) {
+            synchronized (entries) {
+                List<Polygon> replaced = entries.put(key, polygonParts);
+                if (replaced != null) {
+                    weight -= getWeight(key, replaced);
+                }
+                weight += entryWeight;
+                evictLeastRecentlyUsed();
+            }
+        }
+        return copy(polygonParts);
+    }
+
+    /**
+     * @return unmodifiable list of copies of the parts
+     */
+    private static List<Polygon> copy(List<Polygon> parts) {
+        List<Polygon> copies = new ArrayList<>(parts.size());
+        for (Polygon part : parts) {
+            copies.add((Polygon) part.clone());
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Iterator<Map.Entry<Key, List<Polygon>>> leastRecentlyUsed = entries.entrySet().iterator();
+        while (entries.size() > maxEntries || weight > maxWeight) {
+            Map.Entry<Key, List<Polygon>> entry = leastRecentlyUsed.next();
+            weight -= getWeight(entry.getKey(), entry.getValue());
+            leastRecentlyUsed.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * @return number of coordinates held by the key and the parts
+     */
+    private static long getWeight(Key key, List<Polygon> parts) {
+        return key.getNumCoordinates() + parts.stream().mapToLong(Polygon::getNumPoints).sum();
+    }
+
+    /**
+     * Removes all the parts kept. Statistics are not reset.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    /**
+     * @return snapshot of the statistics since this splitter was created
+     */
+    public Statistics getStatistics() {
+        synchronized (entries) {
+            return new Statistics(hits.sum(), misses.sum(), evictions.sum(), entries.size(), weight);
+        }
+    }
+
+    /**
+     * Identifies a polygon split into the given number of parts by the coordinates of its normalized rings
+     */
+    private static final class Key {
+        private final double[] coordinates;         // x and y of every coordinate of the exterior ring, then of the holes
+        private final int[] ringSizes;
+        private final int parts;
+        private final int hash;
+
+        private Key(Polygon polygon, int parts) {
+            Polygon normalized = (Polygon) polygon.norm();
+            this.ringSizes = new int[normalized.getNumInteriorRing() + 1];
+            this.coordinates = new double[2 * normalized.getNumPoints()];
+            int offset = addRing(normalized.getExteriorRing().getCoordinates(), 0);
+            ringSizes[0] = normalized.getExteriorRing().getNumPoints();
+            for (int i = 0; i < normalized.getNumInteriorRing(); i++) {
+                offset = addRing(normalized.getInteriorRingN(i).getCoordinates(), offset);
+                ringSizes[i + 1] = normalized.getInteriorRingN(i).getNumPoints();
+            }
+            this.parts = parts;
+            this.hash = 31 * (31 * Arrays.hashCode(coordinates) + Arrays.hashCode(ringSizes)) + parts;
+        }
+
+        private int addRing(Coordinate[] ring, int offset) {
+            for (Coordinate coordinate : ring) {
+                // adding 0.0 turns -0.0 into 0.0, which Arrays.equals() would tell apart
+                coordinates[offset++] = coordinate.x + 0.0;
+                coordinates[offset++] = coordinate.y + 0.0;
+            }
+            return offset;
+        }
+
+        private int getNumCoordinates() {
+            return coordinates.length / 2;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return parts == other.parts && Arrays.equals(ringSizes, other.ringSizes) && Arrays.equals(coordinates, other.coordinates);
+        }
+    }
+
+    /**
+     * Counts of lookups and the current size of the cache
+     */
+    public static final class Statistics {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int entryCount;
+        private final long weight;
+
+        private Statistics(long hitCount, long missCount, long evictionCount, int entryCount, long weight) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.entryCount = entryCount;
+            this.weight = weight;
+        }
+
+        /**
+         * @return number of splits answered with the parts kept
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * @return number of splits delegated to the decorated splitter
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * @return ratio of hits to all splits, or 0 if there were none
+         */
+        public double getHitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+        }
+
+        /**
+         * @return number of polygons whose parts were evicted
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * @return number of polygons whose parts are kept
+         */
+        public int getEntryCount() {
+            return entryCount;
+        }
+
+        /**
+         * @return total number of coordinates of the polygons and parts kept
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics [hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount + ", entryCount=" + entryCount
+                    + ", weight=" + weight + "]";
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package de.incentergy.geometry;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Receives metrics of the splits performed by {@link de.incentergy.geometry.impl.GreedyPolygonSplitter GreedyPolygonSplitter}, e.g. to feed
+ * them into a metrics registry.<br>
+ * The methods are called on the thread performing the split, once the work they report is done. Implementations are shared by all the splits
+ * performed by the splitter, thus must be thread-safe if the splitter is used from multiple threads.
+ * <p>
+ * Metrics are only collected if a listener other than {@link #NONE} is set.
+ */
+public interface SplitListener {
+
+    /**
+     * Listener which ignores everything, no metrics are collected for it
+     */
+    SplitListener NONE = new SplitListener() {
+    };
+
+    /**
+     * Called after each part is cut away
+     */
+    default void iterationCompleted(IterationMetrics metrics) {
+    }
+
+    /**
+     * Called after the last part is produced and the parts are checked
+     */
+    default void splitCompleted(SplitMetrics metrics) {
+    }
+
+    /**
+     * Reasons for an edge pair (or one direction of it) not to produce a cut
+     */
+    enum Rejection {
+        /** the area to cut away is out of reach in both directions, given the areas between the edges */
+        AREA_OUT_OF_REACH,
+        /** the trapezoid or one of the triangles between the edges is not inside the polygon, or the pieces do not make up the polygon */
+        PIECE_OUTSIDE_POLYGON,
+        /** the area bounded by the segments between the edges (on either side) is not inside the polygon */
+        OUTSIDE_AREA_NOT_IN_POLYGON,
+        /** the line of cut runs along one of the edges or does not end on them, due to rounding of the point of cut */
+        LINE_OF_CUT_DEGENERATE,
+        /** the line of cut crosses the exterior ring */
+        LINE_OF_CUT_CROSSING_RING
+    }
+
+    /**
+     * Metrics of the search for a single cut.<br>
+     * Times are summed over all the threads evaluating edge pairs, thus may exceed the wall-clock time of the search when it runs in parallel.
+     */
+    final class IterationMetrics {
+        private final int iteration;
+        private final long edgePairCount;
+        private final Map<Rejection, Long> rejectedCounts;
+        private final long candidateCutCount;
+        private final long subpolygonNanos;
+        private final long cutNanos;
+        private final long searchNanos;
+        private final long partNanos;
+
+        /**
+         * @param iteration index of the part cut away, starting at 0
+         * @param edgePairCount number of edge pairs evaluated
+         * @param rejectedCounts number of rejections for each reason, missing reasons count as 0
+         * @param candidateCutCount number of cuts produced by the edge pairs
+         * @param subpolygonNanos time spent building (or looking up) the subpolygons of edge pairs
+         * @param cutNanos time spent computing the cuts of edge pairs
+         * @param searchNanos wall-clock time of the whole search, including indexing of the polygon and ordering of the edge pairs
+         * @param partNanos time spent building the part cut away and the remainder of the polygon
+         */
+        public IterationMetrics(int iteration, long edgePairCount, Map<Rejection, Long> rejectedCounts, long candidateCutCount, long subpolygonNanos,
+                long cutNanos, long searchNanos, long partNanos) {
+            this.iteration = iteration;
+            this.edgePairCount = edgePairCount;
+            this.rejectedCounts = rejectedCounts.isEmpty()
+                    ? Collections.emptyMap()
+                    : Collections.unmodifiableMap(new EnumMap<>(rejectedCounts));
+            this.candidateCutCount = candidateCutCount;
+            this.subpolygonNanos = subpolygonNanos;
+            this.cutNanos = cutNanos;
+            this.searchNanos = searchNanos;
+            this.partNanos = partNanos;
+        }
+
+        public int getIteration() {
+            return iteration;
+        }
+
+        public long getEdgePairCount() {
+            return edgePairCount;
+        }
+
+        public long getRejectedCount(Rejection rejection) {
+            return rejectedCounts.getOrDefault(rejection, 0L);
+        }
+
+        public long getCandidateCutCount() {
+            return candidateCutCount;
+        }
+
+        public long getSubpolygonNanos() {
+            return subpolygonNanos;
+        }
+
+        public long getCutNanos() {
+            return cutNanos;
+        }
+
+        public long getSearchNanos() {
+            return searchNanos;
+        }
+
+        public long getPartNanos() {
+            return partNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "IterationMetrics [iteration=" + iteration + ", edgePairCount=" + edgePairCount + ", rejectedCounts=" + rejectedCounts
+                    + ", candidateCutCount=" + candidateCutCount + ", subpolygonNanos=" + subpolygonNanos + ", cutNanos=" + cutNanos + ", searchNanos="
+                    + searchNanos + ", partNanos=" + partNanos + "]";
+        }
+    }
+
+    /**
+     * Metrics of a whole split
+     */
+    final class SplitMetrics {
+        private final int numberOfParts;
+        private final long sanityCheckNanos;
+        private final long totalNanos;
+
+        /**
+         * @param numberOfParts number of parts produced
+         * @param sanityCheckNanos time spent checking the parts, as determined by the validation policy
+         * @param totalNanos wall-clock time of the whole split
+         */
+        public SplitMetrics(int numberOfParts, long sanityCheckNanos, long totalNanos) {
+            this.numberOfParts = numberOfParts;
+            this.sanityCheckNanos = sanityCheckNanos;
+            this.totalNanos = totalNanos;
+        }
+
+        public int getNumberOfParts() {
+            return numberOfParts;
+        }
+
+        public long getSanityCheckNanos() {
+            return sanityCheckNanos;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "SplitMetrics [numberOfParts=" + numberOfParts + ", sanityCheckNanos=" + sanityCheckNanos + ", totalNanos=" + totalNanos + "]";
+        }
+    }
+}
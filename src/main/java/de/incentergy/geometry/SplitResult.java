@@ -0,0 +1,316 @@
+package de.incentergy.geometry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.vividsolutions.jts.algorithm.CGAlgorithms;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.utils.PackedRing;
+
+/**
+ * Parts of a split polygon together with the lines of cut, the areas of the parts and the information whether the splitting algorithm had
+ * enough time to find the shortest cuts.
+ * <p>
+ * A result may also hold the cuts as {@link Chord chords} of the split polygon, which is a compact form of the parts: the exterior ring is stored
+ * once, while the parts duplicate every line of cut. Such a result can be written by {@link de.incentergy.geometry.io.SplitResultWriter
+ * SplitResultWriter}. A result created from the chords builds its parts only when they are first requested, thus consumers which only need the
+ * lines of cut or the areas never build the parts.
+ *
+ * @see de.incentergy.geometry.impl.GreedyPolygonSplitter#splitLazily(Polygon, int)
+ * @see de.incentergy.geometry.impl.GreedyPolygonSplitter#split(Polygon, int, java.time.Duration)
+ */
+public final class SplitResult {
+    private final Polygon polygon;                  // null if the result is created from the parts only
+    private final List<Chord> chords;               // null if the result is created from the parts only
+    private final boolean optimal;
+    private volatile List<Polygon> parts;           // null until built from the chords
+    private volatile List<LineSegment> linesOfCut;  // null until computed from the chords, or if the result is created from the parts only
+    private volatile double[] partAreas;            // null until computed
+
+    /**
+     * @param parts parts of the polygon
+     * @param optimal true if no search for a cut was cut short by the time budget
+     */
+    public SplitResult(List<Polygon> parts, boolean optimal) {
+        this(optimal, null, null, Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(parts, "Parts are required"))), null, null);
+    }
+
+    /**
+     * Creates a result whose parts, lines of cut and areas are computed from the chords when first requested
+     *
+     * @param polygon polygon which was split
+     * @param chords chords in the order the parts were cut away
+     * @param optimal true if no search for a cut was cut short by the time budget
+     */
+    public SplitResult(Polygon polygon, List<Chord> chords, boolean optimal) {
+        this(optimal, Objects.requireNonNull(polygon, "Polygon is required"), Objects.requireNonNull(chords, "Chords are required"), null, null,
+                null);
+    }
+
+    /**
+     * Creates a result holding the chords together with what is already known about the parts they produce. Whatever is not provided is
+     * computed from the chords when first requested.
+     *
+     * @param polygon polygon which was split
+     * @param chords chords in the order the parts were cut away
+     * @param parts parts of the polygon as produced by the chords, or null
+     * @param linesOfCut lines of cut of the chords, in the same order, or null
+     * @param partAreas areas of the parts, or null
+     * @param optimal true if no search for a cut was cut short by the time budget
+     */
+    public SplitResult(Polygon polygon, List<Chord> chords, List<Polygon> parts, List<LineSegment> linesOfCut, double[] partAreas,
+            boolean optimal) {
+        this(optimal, Objects.requireNonNull(polygon, "Polygon is required"), Objects.requireNonNull(chords, "Chords are required"),
+                parts == null ? null : Collections.unmodifiableList(new ArrayList<>(parts)),
+                linesOfCut == null ? null : Collections.unmodifiableList(new ArrayList<>(linesOfCut)), partAreas == null ? null : partAreas.clone());
+        if ((parts != null && parts.size() != chords.size() + 1) || (linesOfCut != null && linesOfCut.size() != chords.size())
+                || (partAreas != null && partAreas.length != chords.size() + 1)) {
+            throw new IllegalArgumentException("Parts, lines of cut and areas should match the chords!");
+        }
+    }
+
+    private SplitResult(boolean optimal, Polygon polygon, List<Chord> chords, List<Polygon> parts, List<LineSegment> linesOfCut,
+            double[] partAreas) {
+        this.polygon = polygon;
+        this.chords = chords == null ? null : Collections.unmodifiableList(new ArrayList<>(chords));
+        this.parts = parts;
+        this.linesOfCut = linesOfCut;
+        this.partAreas = partAreas;
+        this.optimal = optimal;
+    }
+
+    /**
+     * @return parts of the polygon, having equal areas regardless of whether the result is optimal
+     */
+    public List<Polygon> getParts() {
+        List<Polygon> builtParts = parts;
+        if (builtParts == null) {
+            builtParts = replayChords(true);
+        }
+        return builtParts;
+    }
+
+    /**
+     * Cuts away the parts one by one, slicing the ring of the remaining polygon along each chord, the same way as
+     * {@link de.incentergy.geometry.impl.GreedyPolygonSplitter GreedyPolygonSplitter} does. Computes the lines of cut and the areas of the parts
+     * on the way.
+     *
+     * @param buildParts true to build the parts cut away, false to compute just their areas
+     * @return the parts, or null if they are not built
+     */
+    private List<Polygon> replayChords(boolean buildParts) {
+        List<Polygon> builtParts = buildParts ? new ArrayList<>(chords.size() + 1) : null;
+        List<LineSegment> lines = new ArrayList<>(chords.size());
+        double[] areas = new double[chords.size() + 1];
+        Polygon remainingPoly = polygon;
+        double remainingArea = Math.abs(CGAlgorithms.signedArea(polygon.getExteriorRing().getCoordinates()));      // holes are not kept in the parts
+        for (int k = 0; k < chords.size(); k++) {
+            Chord chord = chords.get(k);
+            PackedRing ring = new PackedRing(remainingPoly.getExteriorRing());
+            Coordinate start = ring.getPointOnSegment(chord.getStartSegment(), chord.getStartParameter());
+            Coordinate end = ring.getPointOnSegment(chord.getEndSegment(), chord.getEndParameter());
+            lines.add(new LineSegment(start, end));
+
+            remainingPoly = ring.slice(end, chord.getEndSegment(), start, chord.getStartSegment());
+            double areaBefore = remainingArea;
+            remainingArea = remainingPoly.getArea();
+            if (buildParts) {
+                Polygon part = ring.slice(start, chord.getStartSegment(), end, chord.getEndSegment());
+                builtParts.add(part);
+                areas[k] = part.getArea();
+            } else {
+                areas[k] = areaBefore - remainingArea;
+            }
+        }
+        areas[chords.size()] = remainingArea;
+
+        if (linesOfCut == null) {
+            linesOfCut = Collections.unmodifiableList(lines);
+        }
+        if (partAreas == null) {
+            partAreas = areas;
+        }
+        if (!buildParts) {
+            return null;
+        }
+        builtParts.add(remainingPoly);
+        List<Polygon> unmodifiableParts = Collections.unmodifiableList(builtParts);
+        parts = unmodifiableParts;
+        return unmodifiableParts;
+    }
+
+    /**
+     * @return polygon which was split, or null if the result is created from the parts only
+     */
+    public Polygon getPolygon() {
+        return polygon;
+    }
+
+    /**
+     * @return chords in the order the parts were cut away, or null if the result is created from the parts only
+     */
+    public List<Chord> getChords() {
+        return chords;
+    }
+
+    /**
+     * @return lines of cut in the order the parts were cut away, or null if the result is created from the parts only
+     */
+    public List<LineSegment> getLinesOfCut() {
+        if (linesOfCut == null && chords != null) {
+            replayChords(false);
+        }
+        return linesOfCut;
+    }
+
+    /**
+     * @return total length of the lines of cut, or NaN if the result is created from the parts only
+     */
+    public double getTotalCutLength() {
+        List<LineSegment> lines = getLinesOfCut();
+        if (lines == null) {
+            return Double.NaN;
+        }
+        double length = 0;
+        for (LineSegment line : lines) {
+            length += line.getLength();
+        }
+        return length;
+    }
+
+    public int getNumberOfParts() {
+        return chords != null ? chords.size() + 1 : parts.size();
+    }
+
+    /**
+     * @param part index of the part, in the same order as {@link #getParts()}
+     * @return area of the part, computed without building the part if the result is created from the chords
+     */
+    public double getPartArea(int part) {
+        return getPartAreas()[part];
+    }
+
+    /**
+     * @return area every part should have, i.e. the total area of the parts divided by their number
+     */
+    public double getTargetArea() {
+        double totalArea = 0;
+        for (double area : getPartAreas()) {
+            totalArea += area;
+        }
+        return totalArea / getNumberOfParts();
+    }
+
+    /**
+     * @param part index of the part, in the same order as {@link #getParts()}
+     * @return difference between the area of the part and the target area, relative to the target area
+     */
+    public double getAreaDeviation(int part) {
+        double targetArea = getTargetArea();
+        return (getPartArea(part) - targetArea) / targetArea;
+    }
+
+    /**
+     * @return the largest absolute value of {@link #getAreaDeviation(int)} among the parts
+     */
+    public double getMaxAreaDeviation() {
+        double targetArea = getTargetArea();
+        double maxDeviation = 0;
+        for (double area : getPartAreas()) {
+            maxDeviation = Math.max(maxDeviation, Math.abs(area - targetArea) / targetArea);
+        }
+        return maxDeviation;
+    }
+
+    private double[] getPartAreas() {
+        if (partAreas == null) {
+            if (chords != null) {
+                replayChords(false);
+            } else {
+                double[] areas = new double[parts.size()];
+                for (int i = 0; i < areas.length; i++) {
+                    areas[i] = parts.get(i).getArea();
+                }
+                partAreas = areas;
+            }
+        }
+        return partAreas;
+    }
+
+    /**
+     * @return true if each cut is the shortest one the splitting algorithm finds, or false if the time budget ran out and some cuts are just the
+     *         shortest ones found by then (best effort)
+     */
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    @Override
+    public String toString() {
+        return parts != null || chords == null
+                ? "SplitResult [parts=" + parts + ", optimal=" + optimal + "]"
+                : "SplitResult [chords=" + chords + ", optimal=" + optimal + "]";
+    }
+
+    /**
+     * A straight line of cut between two points on the exterior ring of the polygon being cut, i.e. the original polygon for the first chord and
+     * the remainder left by the previous chord for each following one.<br>
+     * The part cut away starts at the start point and goes along the ring until the end point, the remainder goes on from the end point back to
+     * the start point. The ring of the remainder starts at the end point of the chord.
+     * <p>
+     * Points are given by the index of the ring segment containing them and their position along it, thus a point on a vertex is the same
+     * vertex, and the parts on both sides of a chord share its points exactly.
+     */
+    public static final class Chord {
+        private final int startSegment;
+        private final double startParameter;
+        private final int endSegment;
+        private final double endParameter;
+
+        /**
+         * @param startSegment index of ring segment containing the start point
+         * @param startParameter position of the start point along its segment, 0 being the start vertex and 1 being the end vertex
+         * @param endSegment index of ring segment containing the end point, must be different from start segment
+         * @param endParameter position of the end point along its segment
+         */
+        public Chord(int startSegment, double startParameter, int endSegment, double endParameter) {
+            if (startSegment < 0 || endSegment < 0 || startSegment == endSegment) {
+                throw new IllegalArgumentException("Segments should be distinct and not negative!");
+            }
+            if (!(startParameter >= 0 && startParameter <= 1 && endParameter >= 0 && endParameter <= 1)) {
+                throw new IllegalArgumentException("Parameters should be between 0 and 1!");
+            }
+            this.startSegment = startSegment;
+            this.startParameter = startParameter;
+            this.endSegment = endSegment;
+            this.endParameter = endParameter;
+        }
+
+        public int getStartSegment() {
+            return startSegment;
+        }
+
+        public double getStartParameter() {
+            return startParameter;
+        }
+
+        public int getEndSegment() {
+            return endSegment;
+        }
+
+        public double getEndParameter() {
+            return endParameter;
+        }
+
+        @Override
+        public String toString() {
+            return "Chord [startSegment=" + startSegment + ", startParameter=" + startParameter + ", endSegment=" + endSegment + ", endParameter="
+                    + endParameter + "]";
+        }
+    }
+}
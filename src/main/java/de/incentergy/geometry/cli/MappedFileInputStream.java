@@ -0,0 +1,102 @@
+package de.incentergy.geometry.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file through memory-mapped regions of its {@link FileChannel}, one region at a time.<br>
+ * The contents are paged in by the operating system rather than copied to the heap, so files of many gigabytes can be read without holding
+ * them in memory. Regions are released once the garbage collector reclaims their buffers.
+ */
+final class MappedFileInputStream extends InputStream {
+
+    /**
+     * Default size of a mapped region
+     */
+    static final int DEFAULT_REGION_SIZE = 1 << 26;
+
+    private final FileChannel channel;
+    private final long size;
+    private final int regionSize;
+    private long regionEnd;
+    private MappedByteBuffer region;
+
+    MappedFileInputStream(Path file) throws IOException {
+        this(file, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * @param regionSize maximum number of bytes mapped at once
+     */
+    MappedFileInputStream(Path file, int regionSize) throws IOException {
+        if (regionSize < 1) {
+            throw new IllegalArgumentException("Region size should be positive!");
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.regionSize = regionSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return nextRegion() ? region.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextRegion()) {
+            return -1;
+        }
+        int count = Math.min(len, region.remaining());
+        region.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && nextRegion()) {
+            int count = (int) Math.min(n - skipped, region.remaining());
+            region.position(region.position() + count);
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return region == null ? 0 : region.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        region = null;
+        channel.close();
+    }
+
+    /**
+     * Maps the next region once the current one is exhausted
+     *
+     * @return true if there are bytes left to read
+     */
+    private boolean nextRegion() throws IOException {
+        if (region != null && region.hasRemaining()) {
+            return true;
+        }
+        if (regionEnd >= size) {
+            return false;
+        }
+        long regionStart = regionEnd;
+        regionEnd = Math.min(size, regionStart + regionSize);
+        region = channel.map(MapMode.READ_ONLY, regionStart, regionEnd - regionStart);
+        return true;
+    }
+}
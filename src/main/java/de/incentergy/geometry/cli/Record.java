@@ -0,0 +1,57 @@
+package de.incentergy.geometry.cli;
+
+import java.util.Objects;
+
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.ParseException;
+import com.vividsolutions.jts.io.WKBReader;
+import com.vividsolutions.jts.io.WKTReader;
+
+/**
+ * Polygon to split, as read from the input.<br>
+ * The geometry is kept in its encoded form (either WKT or WKB) and only parsed by {@link #parsePolygon()}, so that parsing happens on the thread
+ * splitting the polygon rather than on the one reading the input.
+ */
+final class Record {
+
+    private final String id;
+    private final int numberOfParts;
+    private final String wkt;
+    private final byte[] wkb;
+
+    private Record(String id, int numberOfParts, String wkt, byte[] wkb) {
+        this.id = Objects.requireNonNull(id, "Id is required");
+        this.numberOfParts = numberOfParts;
+        this.wkt = wkt;
+        this.wkb = wkb;
+    }
+
+    static Record ofWkt(String id, int numberOfParts, String wkt) {
+        return new Record(id, numberOfParts, Objects.requireNonNull(wkt, "WKT is required"), null);
+    }
+
+    static Record ofWkb(String id, int numberOfParts, byte[] wkb) {
+        return new Record(id, numberOfParts, null, Objects.requireNonNull(wkb, "WKB is required"));
+    }
+
+    String getId() {
+        return id;
+    }
+
+    int getNumberOfParts() {
+        return numberOfParts;
+    }
+
+    /**
+     * @throws ParseException if the geometry is malformed
+     * @throws IllegalArgumentException if the geometry is not a polygon
+     */
+    Polygon parsePolygon() throws ParseException {
+        Geometry geometry = wkt != null ? new WKTReader().read(wkt) : new WKBReader().read(wkb);
+        if (!(geometry instanceof Polygon)) {
+            throw new IllegalArgumentException("Geometry should be a polygon, but was " + geometry.getGeometryType());
+        }
+        return (Polygon) geometry;
+    }
+}
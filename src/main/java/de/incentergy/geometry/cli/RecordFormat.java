@@ -0,0 +1,218 @@
+package de.incentergy.geometry.cli;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKBWriter;
+import com.vividsolutions.jts.io.WKTWriter;
+
+/**
+ * Encodings of the records read and written by {@link SplitCommand}.<br>
+ * Input records carry an id, the number of parts and the polygon. Output records have the same layout, with the index of the part (starting
+ * at 0) in place of the number of parts, and the part in place of the polygon. Thus an id is repeated for each of its parts.
+ */
+enum RecordFormat {
+
+    /**
+     * Newline-delimited text, with tab-separated id, number of parts and WKT on each line. Blank lines are skipped.
+     */
+    WKT {
+        @Override
+        RecordReader newReader(InputStream in) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+            return new RecordReader() {
+                private long lineNumber;
+
+                @Override
+                public Record read() throws IOException {
+                    String line;
+                    do {
+                        line = reader.readLine();
+                        lineNumber++;
+                        if (line == null) {
+                            return null;
+                        }
+                    } while (line.trim().isEmpty());
+
+                    int idEnd = line.indexOf('\t');
+                    int partsEnd = idEnd < 0 ? -1 : line.indexOf('\t', idEnd + 1);
+                    if (partsEnd < 0) {
+                        throw new RecordFormatException("Line " + lineNumber + " should contain an id, number of parts and WKT separated by tabs");
+                    }
+                    return Record.ofWkt(line.substring(0, idEnd), parseNumberOfParts(line.substring(idEnd + 1, partsEnd).trim(), lineNumber),
+                            line.substring(partsEnd + 1));
+                }
+            };
+        }
+
+        @Override
+        RecordWriter newWriter(OutputStream out) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            WKTWriter wktWriter = new WKTWriter();
+            return new RecordWriter() {
+                @Override
+                public void write(String id, List<Polygon> parts) throws IOException {
+                    for (int i = 0; i < parts.size(); i++) {
+                        writer.write(id);
+                        writer.write('\t');
+                        writer.write(Integer.toString(i));
+                        writer.write('\t');
+                        writer.write(wktWriter.write(parts.get(i)));
+                        writer.write('\n');
+                    }
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    writer.flush();
+                }
+            };
+        }
+    },
+
+    /**
+     * Length-prefixed binary records: id (as written by {@link java.io.DataOutput#writeUTF(String)}), number of parts (4-byte big-endian
+     * integer), length of WKB (4-byte big-endian integer) and WKB itself. The input may only end between records, and WKB may not be longer
+     * than {@link #MAX_WKB_LENGTH}.
+     */
+    WKB {
+        @Override
+        RecordReader newReader(InputStream in) {
+            DataInputStream data = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+            return new RecordReader() {
+                private long recordNumber;
+
+                @Override
+                public Record read() throws IOException {
+                    data.mark(1);
+                    if (data.read() < 0) {
+                        return null;            // no more records
+                    }
+                    data.reset();
+                    recordNumber++;
+                    try {
+                        String id = data.readUTF();
+                        int numberOfParts = data.readInt();
+                        int length = data.readInt();
+                        if (length < 0 || length > MAX_WKB_LENGTH) {
+                            throw new RecordFormatException("Record " + recordNumber + " has an invalid WKB length: " + length);
+                        }
+                        return Record.ofWkb(id, numberOfParts, readWkb(length));
+                    } catch (EOFException e) {
+                        throw new RecordFormatException("Record " + recordNumber + " is truncated");
+                    }
+                }
+
+                /**
+                 * Grows the array as the bytes are read rather than allocating the given length up front, so that a corrupt length in a
+                 * truncated input fails on the missing bytes instead of exhausting the heap
+                 */
+                private byte[] readWkb(int length) throws IOException {
+                    byte[] wkb = new byte[Math.min(length, BUFFER_SIZE)];
+                    int count = 0;
+                    while (count < length) {
+                        if (count == wkb.length) {
+                            wkb = Arrays.copyOf(wkb, (int) Math.min(length, 2L * wkb.length));
+                        }
+                        data.readFully(wkb, count, wkb.length - count);
+                        count = wkb.length;
+                    }
+                    return wkb;
+                }
+            };
+        }
+
+        @Override
+        RecordWriter newWriter(OutputStream out) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+            WKBWriter wkbWriter = new WKBWriter();
+            return new RecordWriter() {
+                @Override
+                public void write(String id, List<Polygon> parts) throws IOException {
+                    for (int i = 0; i < parts.size(); i++) {
+                        byte[] wkb = wkbWriter.write(parts.get(i));
+                        data.writeUTF(id);
+                        data.writeInt(i);
+                        data.writeInt(wkb.length);
+                        data.write(wkb);
+                    }
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    data.flush();
+                }
+            };
+        }
+    };
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Maximum length of WKB of a polygon read, i.e. 256 MiB or about 16 million coordinates
+     */
+    static final int MAX_WKB_LENGTH = 1 << 28;
+
+    /**
+     * @param in stream to read the records from, not closed by the reader
+     */
+    abstract RecordReader newReader(InputStream in);
+
+    /**
+     * @param out stream to write the records to, not closed by the writer
+     */
+    abstract RecordWriter newWriter(OutputStream out);
+
+    private static int parseNumberOfParts(String value, long lineNumber) throws RecordFormatException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new RecordFormatException("Line " + lineNumber + " has an invalid number of parts: " + value);
+        }
+    }
+
+    interface RecordReader {
+
+        /**
+         * @return next record, or null if there are no more records
+         * @throws RecordFormatException if the input is malformed, in which case the rest of it cannot be read
+         */
+        Record read() throws IOException;
+    }
+
+    interface RecordWriter {
+
+        /**
+         * Writes a record for each part of the polygon
+         */
+        void write(String id, List<Polygon> parts) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    /**
+     * Thrown if the input does not follow the format
+     */
+    static class RecordFormatException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        RecordFormatException(String message) {
+            super(message);
+        }
+    }
+}
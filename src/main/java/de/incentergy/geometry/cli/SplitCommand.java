@@ -0,0 +1,255 @@
+package de.incentergy.geometry.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.ParseException;
+
+import de.incentergy.geometry.BatchPolygonSplitter;
+import de.incentergy.geometry.PolygonSplitter;
+import de.incentergy.geometry.cli.RecordFormat.RecordFormatException;
+import de.incentergy.geometry.cli.RecordFormat.RecordReader;
+import de.incentergy.geometry.cli.RecordFormat.RecordWriter;
+import de.incentergy.geometry.impl.GreedyPolygonSplitter;
+
+/**
+ * Command-line entry point splitting a stream of polygons with {@link GreedyPolygonSplitter}.<br>
+ * Records are read from a file or stdin and written to a file or stdout in the same {@link RecordFormat}, in input order. Polygons are split in
+ * parallel, while at most a fixed number of records are held in a bounded queue between reading and writing, so neither the input nor the
+ * output is ever kept in memory as a whole. Input files are read through memory-mapped regions.
+ * <p>
+ * A record which fails to parse or split is reported on stderr and skipped, the exit status is then {@value #EXIT_FAILED_RECORDS}.
+ */
+public final class SplitCommand {
+
+    static final int EXIT_OK = 0;
+    static final int EXIT_FAILED_RECORDS = 1;
+    static final int EXIT_USAGE = 2;
+    static final int EXIT_ERROR = 3;
+
+    private static final String USAGE = "Usage: java " + SplitCommand.class.getName() + " [options]\n"
+            + "  --format wkt|wkb        record format of both input and output (default: wkt)\n"
+            + "  --input <file>          file to read the records from (default: stdin)\n"
+            + "  --output <file>         file to write the parts to (default: stdout)\n"
+            + "  --threads <n>           number of threads splitting the polygons (default: number of processors)\n"
+            + "  --max-in-flight <n>     maximum number of records between reading and writing (default: twice the number of processors)\n";
+
+    private final PolygonSplitter splitter;
+    private final RecordFormat format;
+    private final int threads;
+    private final int maxInFlight;
+
+    SplitCommand(PolygonSplitter splitter, RecordFormat format, int threads, int maxInFlight) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads should be positive!");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Maximum number of records in flight should be positive!");
+        }
+        this.splitter = Objects.requireNonNull(splitter, "Splitter is required");
+        this.format = Objects.requireNonNull(format, "Format is required");
+        this.threads = threads;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.in, System.out, System.err));
+    }
+
+    /**
+     * Parses the arguments and splits the records
+     *
+     * @return exit status
+     */
+    static int run(String[] args, InputStream stdin, OutputStream stdout, PrintStream stderr) {
+        RecordFormat format = RecordFormat.WKT;
+        String input = null;
+        String output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int maxInFlight = BatchPolygonSplitter.DEFAULT_MAX_IN_FLIGHT;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String option = args[i];
+                if ("--help".equals(option)) {
+                    stderr.print(USAGE);
+                    return EXIT_OK;
+                }
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value of " + option);
+                }
+                String value = args[++i];
+                switch (option) {
+                    case "--format":
+                        format = RecordFormat.valueOf(value.toUpperCase(Locale.ROOT));
+                        break;
+                    case "--input":
+                        input = value;
+                        break;
+                    case "--output":
+                        output = value;
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        break;
+                    case "--max-in-flight":
+                        maxInFlight = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + option);
+                }
+            }
+            SplitCommand command = new SplitCommand(new GreedyPolygonSplitter(), format, threads, maxInFlight);
+
+            // stdin and stdout are left open, only the files opened here are closed
+            try (InputStream inputFile = input == null ? null : new MappedFileInputStream(Paths.get(input));
+                    OutputStream outputFile = output == null ? null : Files.newOutputStream(Paths.get(output))) {
+                long failedCount = command.splitAll(inputFile != null ? inputFile : stdin, outputFile != null ? outputFile : stdout, stderr);
+                return failedCount == 0 ? EXIT_OK : EXIT_FAILED_RECORDS;
+            }
+        } catch (IllegalArgumentException e) {
+            stderr.println(e.getMessage());
+            stderr.print(USAGE);
+            return EXIT_USAGE;
+        } catch (IOException e) {
+            stderr.println("Failed to split the records: " + e);
+            return EXIT_ERROR;
+        }
+    }
+
+    /**
+     * Splits every record of the input, writing the parts in input order.<br>
+     * The calling thread reads the records and writes the parts, while the polygons are parsed and split on a pool of worker threads by
+     * {@link BatchPolygonSplitter}.
+     *
+     * @param failures stream to report the records which failed to split on
+     * @return number of records which failed to split
+     * @throws RecordFormatException if the input is malformed, in which case the parts of preceding records are still written
+     */
+    long splitAll(InputStream in, OutputStream out, PrintStream failures) throws IOException {
+        RecordWriter writer = format.newWriter(out);
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "polysplit-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        RecordSource records = new RecordSource(format.newReader(in));
+        long[] failedCount = { 0 };
+        try {
+            BatchPolygonSplitter batchSplitter = new BatchPolygonSplitter(splitter, maxInFlight);
+            batchSplitter.splitAll(records, SplitCommand::parse, Record::getNumberOfParts, executor, outcome -> {
+                String id = records.ids.poll();
+                if (outcome.isSuccessful()) {
+                    write(writer, id, outcome.getParts());
+                } else {
+                    RuntimeException failure = outcome.getFailure();
+                    failures.println(id + ": " + (failure instanceof UnparsableRecordException ? failure.getCause() : failure));
+                    failedCount[0]++;
+                }
+            });
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            // writing failed, possibly after reading did
+            if (records.readFailure != null) {
+                records.readFailure.addSuppressed(e.getCause());
+                throw records.readFailure;
+            }
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while splitting the records");
+        } finally {
+            executor.shutdownNow();
+        }
+        if (records.readFailure != null) {
+            throw records.readFailure;
+        }
+        return failedCount[0];
+    }
+
+    private static void write(RecordWriter writer, String id, List<Polygon> parts) {
+        try {
+            writer.write(id, parts);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the polygon of the record on the worker thread, wrapping a parse failure to be recorded as a failed outcome
+     */
+    private static Polygon parse(Record record) {
+        try {
+            return record.parsePolygon();
+        } catch (ParseException e) {
+            throw new UnparsableRecordException(e);
+        }
+    }
+
+    /**
+     * Reads the records lazily, queueing the ids of the records passed on until their outcomes are written.<br>
+     * A failure to read ends the input, so that the records read before it are still split and written. The failure is kept to be thrown
+     * afterwards.
+     */
+    private static class RecordSource implements Iterable<Record>, Iterator<Record> {
+        private final RecordReader reader;
+        private final Deque<String> ids = new ArrayDeque<>();
+        private Record next;
+        private IOException readFailure;
+
+        private RecordSource(RecordReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Iterator<Record> iterator() {
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && readFailure == null) {
+                try {
+                    next = reader.read();
+                } catch (IOException e) {
+                    readFailure = e;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Record next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Record record = next;
+            ids.add(record.getId());
+            next = null;
+            return record;
+        }
+    }
+
+    private static class UnparsableRecordException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private UnparsableRecordException(ParseException cause) {
+            super(cause);
+        }
+    }
+}
@@ -1,23 +1,111 @@
 package de.incentergy.geometry.impl;
 
+import com.vividsolutions.jts.geom.LineSegment;
 import com.vividsolutions.jts.geom.Polygon;
 
+import de.incentergy.geometry.SplitResult.Chord;
+import de.incentergy.geometry.utils.PackedRing;
+
+/**
+ * A possible line of cut. The resulting polygons are only built on request, as most of the possible cuts get discarded.
+ */
 public class Cut {
 
-    private final double length;        // length of cut
-    private final Polygon cutAway;
+    private final LineSegment lineOfCut;        // both endpoints are on the exterior ring of the polygon being cut
+    private final double length;                // length of cut
+    private final IndexedPolygon polygon;       // polygon being cut
+    private final int startSegment;             // index of exterior ring segment containing the start of line of cut
+    private final int endSegment;               // index of exterior ring segment containing the end of line of cut
 
-    public Cut(double lengthOfCut, Polygon cutAway) {
-        this.length = lengthOfCut;
-        this.cutAway = cutAway;
+    Cut(LineSegment lineOfCut, IndexedPolygon polygon, int startSegment, int endSegment) {
+        this.lineOfCut = lineOfCut;
+        this.length = lineOfCut.getLength();
+        this.polygon = polygon;
+        this.startSegment = startSegment;
+        this.endSegment = endSegment;
     }
 
     public double getLength() {
         return length;
     }
 
+    public LineSegment getLineOfCut() {
+        return lineOfCut;
+    }
+
+    /**
+     * Compares the lengths of cuts. Cuts of equal length are ordered by the positions of their edges in the exterior ring (and the cut going
+     * from edgeA to edgeB comes first), so that the shortest cut does not depend on the order in which the edge pairs are evaluated.
+     */
+    boolean isShorterThan(Cut other) {
+        if (length != other.length) {
+            return length < other.length;
+        }
+        int edgeA = Math.min(startSegment, endSegment);
+        int otherEdgeA = Math.min(other.startSegment, other.endSegment);
+        if (edgeA != otherEdgeA) {
+            return edgeA < otherEdgeA;
+        }
+        int edgeB = Math.max(startSegment, endSegment);
+        int otherEdgeB = Math.max(other.startSegment, other.endSegment);
+        if (edgeB != otherEdgeB) {
+            return edgeB < otherEdgeB;
+        }
+        return startSegment < endSegment && other.startSegment > other.endSegment;
+    }
+
+    /**
+     * @return polygon being cut
+     */
+    IndexedPolygon getPolygon() {
+        return polygon;
+    }
+
+    /**
+     * @return index of exterior ring segment containing the start of line of cut
+     */
+    int getStartSegment() {
+        return startSegment;
+    }
+
+    /**
+     * @return index of exterior ring segment containing the end of line of cut
+     */
+    int getEndSegment() {
+        return endSegment;
+    }
+
+    /**
+     * @return the line of cut as a chord of the exterior ring of the polygon being cut
+     */
+    Chord toChord() {
+        PackedRing ring = polygon.getRing();
+        return new Chord(startSegment, ring.getParameter(startSegment, lineOfCut.p0), endSegment, ring.getParameter(endSegment, lineOfCut.p1));
+    }
+
+    /**
+     * Builds the part of polygon that is cut away, i.e. the part starting at the start of line of cut and going along the exterior ring until
+     * the end of line of cut is reached.<br>
+     * Note: the polygon is built anew on every call.
+     */
     public Polygon getCutAway() {
-        return cutAway;
+        return polygon.slice(lineOfCut.p0, startSegment, lineOfCut.p1, endSegment);
+    }
+
+    /**
+     * @return area of the part of polygon that is cut away, computed without building it
+     */
+    double getCutAwayArea() {
+        return polygon.getSliceArea(lineOfCut.p0, startSegment, lineOfCut.p1, endSegment);
+    }
+
+    /**
+     * Builds the part of polygon that remains after cutting away {@link #getCutAway()}, i.e. the complementary chain of the exterior ring
+     * going from the end of line of cut until its start.<br>
+     * Note: the polygon is built anew on every call.
+     */
+    public Polygon getRemainder() {
+        return polygon.slice(lineOfCut.p1, endSegment, lineOfCut.p0, startSegment);
     }
 
 }
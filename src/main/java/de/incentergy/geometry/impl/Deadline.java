@@ -0,0 +1,57 @@
+package de.incentergy.geometry.impl;
+
+import java.time.Duration;
+
+/**
+ * Point in time after which the search for the shortest cut settles for the shortest cut found so far instead of evaluating the remaining edge
+ * pairs.<br>
+ * Records whether any search was cut short this way, in which case the cuts found are possibly not the shortest ones. Safe to share between
+ * threads.
+ */
+final class Deadline {
+
+    /**
+     * Deadline which never passes
+     */
+    static final Deadline NONE = new Deadline(0, false);
+
+    private final long nanoTime;
+    private final boolean bounded;
+    private volatile boolean cutShort;
+
+    private Deadline(long nanoTime, boolean bounded) {
+        this.nanoTime = nanoTime;
+        this.bounded = bounded;
+    }
+
+    /**
+     * @param budget time from now until the deadline
+     */
+    static Deadline after(Duration budget) {
+        long budgetNanos;
+        try {
+            budgetNanos = budget.toNanos();
+        } catch (ArithmeticException e) {
+            return new Deadline(0, false);          // centuries away
+        }
+        return new Deadline(System.nanoTime() + budgetNanos, true);
+    }
+
+    boolean hasPassed() {
+        return bounded && System.nanoTime() - nanoTime >= 0;           // compared by difference, as System.nanoTime() may overflow
+    }
+
+    /**
+     * Records that a search stopped at the deadline with edge pairs left to evaluate
+     */
+    void recordCutShort() {
+        cutShort = true;
+    }
+
+    /**
+     * @return true if any search stopped at the deadline with edge pairs left to evaluate
+     */
+    boolean wasCutShort() {
+        return cutShort;
+    }
+}
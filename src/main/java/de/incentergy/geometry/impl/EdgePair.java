@@ -9,9 +9,10 @@ import com.vividsolutions.jts.geom.Coordinate;
 import com.vividsolutions.jts.geom.LineSegment;
 import com.vividsolutions.jts.geom.Polygon;
 
+import de.incentergy.geometry.SplitListener.Rejection;
 import de.incentergy.geometry.utils.GeometryFactoryUtils;
 import de.incentergy.geometry.utils.GeometryUtils;
-import de.incentergy.geometry.utils.GeometryUtils.IntersectionCoordinate;
+import de.incentergy.geometry.utils.PackedRing;
 
 /**
  * Represents a pair of edges on polygon's exterior ring.<br>
@@ -48,28 +49,60 @@ class EdgePair {
     private ProjectedVertex projected1;          // projected p1
 
     public EdgePair(LineSegment edgeA, LineSegment edgeB) {
-        // determine the point where the edges would intersect if they were infinite lines
-        IntersectionCoordinate intersectionPoint = GeometryUtils.getIntersectionPoint(edgeA, edgeB);
-
         this.edgeA = edgeA;
         this.edgeB = edgeB;
+        projectVertices(edgeA.p0.x, edgeA.p0.y, edgeA.p1.x, edgeA.p1.y, edgeB.p0.x, edgeB.p0.y, edgeB.p1.x, edgeB.p1.y);
+    }
+
+    /**
+     * Same as {@link #EdgePair(LineSegment, LineSegment)}, but reads the vertices from the packed exterior ring of the polygon
+     *
+     * @param indexOfEdgeA index of edgeA in {@link IndexedPolygon#getSegments()}
+     * @param indexOfEdgeB index of edgeB in {@link IndexedPolygon#getSegments()}
+     */
+    EdgePair(IndexedPolygon polygon, int indexOfEdgeA, int indexOfEdgeB) {
+        PackedRing ring = polygon.getRing();
+        this.edgeA = polygon.getSegments().get(indexOfEdgeA);
+        this.edgeB = polygon.getSegments().get(indexOfEdgeB);
+        projectVertices(ring.getX(indexOfEdgeA), ring.getY(indexOfEdgeA), ring.getX(indexOfEdgeA + 1), ring.getY(indexOfEdgeA + 1),
+                ring.getX(indexOfEdgeB), ring.getY(indexOfEdgeB), ring.getX(indexOfEdgeB + 1), ring.getY(indexOfEdgeB + 1));
+    }
+
+    /**
+     * Determines projected points using primitive coordinates of edgeA (ax0; ay0) - (ax1; ay1) and edgeB (bx0; by0) - (bx1; by1), so that
+     * objects are only created for the projections which fall on the edges
+     */
+    private void projectVertices(double ax0, double ay0, double ax1, double ay1, double bx0, double by0, double bx1, double by1) {
+        double[] point = new double[2];
+
+        // determine the point where the edges would intersect if they were infinite lines
+        double intersectionX = Double.NaN;
+        double intersectionY = Double.NaN;
+        boolean intersectionBelongsToOneOfTheEdges = false;
+        if (GeometryUtils.getIntersectionPoint(ax0, ay0, ax1, ay1, bx0, by0, bx1, by1, point)) {
+            intersectionX = point[0];
+            intersectionY = point[1];
+            intersectionBelongsToOneOfTheEdges = GeometryUtils.isPointOnLineSegmentExcludingEndpoints(intersectionX, intersectionY, ax0, ay0, ax1, ay1)
+                    || GeometryUtils.isPointOnLineSegmentExcludingEndpoints(intersectionX, intersectionY, bx0, by0, bx1, by1);
+        }
 
         // there will be 2 projected points at most
-        projected0 = getProjectedVertex(edgeA.p1, edgeB, intersectionPoint);
-        if (projected0.isNotValid()) {
-            projected0 = getProjectedVertex(edgeB.p0, edgeA, intersectionPoint);
+        if (GeometryUtils.getProjectedPoint(ax1, ay1, bx0, by0, bx1, by1, intersectionX, intersectionY, intersectionBelongsToOneOfTheEdges, point)) {
+            projected0 = new ProjectedVertex(point[0], point[1], edgeB);
+        } else if (GeometryUtils.getProjectedPoint(bx0, by0, ax0, ay0, ax1, ay1, intersectionX, intersectionY, intersectionBelongsToOneOfTheEdges, point)) {
+            projected0 = new ProjectedVertex(point[0], point[1], edgeA);
+        } else {
+            projected0 = ProjectedVertex.INVALID;
         }
-        projected1 = getProjectedVertex(edgeB.p1, edgeA, intersectionPoint);
-        if (projected1.isNotValid()) {
-            projected1 = getProjectedVertex(edgeA.p0, edgeB, intersectionPoint);
+        if (GeometryUtils.getProjectedPoint(bx1, by1, ax0, ay0, ax1, ay1, intersectionX, intersectionY, intersectionBelongsToOneOfTheEdges, point)) {
+            projected1 = new ProjectedVertex(point[0], point[1], edgeA);
+        } else if (GeometryUtils.getProjectedPoint(ax0, ay0, bx0, by0, bx1, by1, intersectionX, intersectionY, intersectionBelongsToOneOfTheEdges, point)) {
+            projected1 = new ProjectedVertex(point[0], point[1], edgeB);
+        } else {
+            projected1 = ProjectedVertex.INVALID;
         }
     }
 
-    private ProjectedVertex getProjectedVertex(Coordinate point, LineSegment edge, IntersectionCoordinate intersectionPoint) {
-        Coordinate projectionPoint = GeometryUtils.getProjectedPoint(point, edge, intersectionPoint);
-        return projectionPoint != null ? new ProjectedVertex(projectionPoint, edge) : ProjectedVertex.INVALID;
-    }
-
     public EdgePairSubpolygons getSubpolygons() {
         return new EdgePairSubpolygons(edgeA, edgeB, projected0, projected1);
     }
@@ -91,8 +124,8 @@ class EdgePair {
             this.edge = null;
         }
 
-        public ProjectedVertex(Coordinate coord, LineSegment edge) {
-            super(coord);
+        public ProjectedVertex(double x, double y, LineSegment edge) {
+            super(x, y);
             this.valid = true;
             this.edge = edge;
         }
@@ -116,15 +149,22 @@ class EdgePair {
     }
 
     /**
-     * This class represents the 3 possible polygons in which the minimum cut can be located
+     * This class represents the 3 possible polygons in which the minimum cut can be located.<br>
+     * The polygons depend only on the two edges. They are kept as closed rings of vertices and only built on request, so that an instance is
+     * cheap to create and compact enough to be kept for the following greedy iterations (see {@link EdgePairCache}).
      */
     static class EdgePairSubpolygons {
+        private static final double FRACTION_TOLERANCE = 1e-9;      // roots off [0, 1] by a rounding error are taken as 0 or 1
+        private static final int MAX_BISECTION_STEPS = 64;
+
         private final LineSegment edgeA;
         private final LineSegment edgeB;
+        private final ProjectedVertex projected0;
+        private final ProjectedVertex projected1;
 
-        private final Polygon triangle1;
-        private final Polygon trapezoid;
-        private final Polygon triangle2;
+        private final Coordinate[] triangle1;           // null if it does not exist
+        private final Coordinate[] trapezoid;
+        private final Coordinate[] triangle2;           // null if it does not exist
         private final double triangle1Area;
         private final double trapezoidArea;
         private final double triangle2Area;
@@ -132,12 +172,14 @@ class EdgePair {
         private EdgePairSubpolygons(LineSegment edgeA, LineSegment edgeB, ProjectedVertex projected0, ProjectedVertex projected1) {
             this.edgeA = Objects.requireNonNull(edgeA, "Edge A is required");
             this.edgeB = Objects.requireNonNull(edgeB, "Edge B is required");
+            this.projected0 = projected0;
+            this.projected1 = projected1;
 
             // build triangles if corresponding projected points are valid
-            triangle1 = projected0.isValid() ? GeometryFactoryUtils.createTriangle(edgeA.p1, projected0, edgeB.p0) : null;
-            triangle2 = projected1.isValid() ? GeometryFactoryUtils.createTriangle(edgeA.p0, projected1, edgeB.p1) : null;
-            triangle1Area = triangle1 != null ? triangle1.getArea() : 0;
-            triangle2Area = triangle2 != null ? triangle2.getArea() : 0;
+            triangle1 = projected0.isValid() ? new Coordinate[] { edgeA.p1, projected0, edgeB.p0, edgeA.p1 } : null;
+            triangle2 = projected1.isValid() ? new Coordinate[] { edgeA.p0, projected1, edgeB.p1, edgeA.p0 } : null;
+            triangle1Area = triangle1 != null ? getArea(triangle1) : 0;
+            triangle2Area = triangle2 != null ? getArea(triangle2) : 0;
 
             // build a trapezoid:
             // 1) if projected1 is on edgeA, add projected1, else add edgeA.p0
@@ -149,20 +191,32 @@ class EdgePair {
             Coordinate coord2 = projected0.isOnEdge(edgeA) ? projected0 : edgeA.p1;
             Coordinate coord3 = projected0.isOnEdge(edgeB) ? projected0 : edgeB.p0;
             Coordinate coord4 = projected1.isOnEdge(edgeB) ? projected1 : edgeB.p1;
-            trapezoid = GeometryFactoryUtils.createPolygon(coord1, coord2, coord3, coord4);
-            trapezoidArea = trapezoid.getArea();
+            trapezoid = new Coordinate[] { coord1, coord2, coord3, coord4, coord1 };
+            trapezoidArea = getArea(trapezoid);
+        }
+
+        /**
+         * Computes the area of polygon having the given closed ring in the same way as {@link Polygon#getArea()}, but without building it
+         */
+        private static double getArea(Coordinate[] ring) {
+            double x0 = ring[0].x;
+            double sum = 0;
+            for (int i = 1; i < ring.length - 1; i++) {
+                sum += (ring[i].x - x0) * (ring[i - 1].y - ring[i + 1].y);
+            }
+            return Math.abs(sum / 2.0);
         }
 
         public Polygon getTriangle1() {
-            return triangle1;
+            return triangle1 != null ? GeometryFactoryUtils.createTriangle(triangle1[0], triangle1[1], triangle1[2]) : null;
         }
 
         public Polygon getTrapezoid() {
-            return trapezoid;
+            return GeometryFactoryUtils.createPolygon(trapezoid[0], trapezoid[1], trapezoid[2], trapezoid[3]);
         }
 
         public Polygon getTriangle2() {
-            return triangle2;
+            return triangle2 != null ? GeometryFactoryUtils.createTriangle(triangle2[0], triangle2[1], triangle2[2]) : null;
         }
 
         public double getTotalArea() {
@@ -170,57 +224,92 @@ class EdgePair {
         }
 
         /**
-         * Produces a a collection of possible cuts located in one of {@link EdgePairSubpolygons}.
+         * Produces a a collection of possible cuts located in one of {@link EdgePairSubpolygons}.<br>
+         * The edges of the pair are looked up among the segments of the exterior ring of the polygon.
          * @param polygon The polygon from which the area should be cut away
          * @param singlePartArea area to cut away
-         * @param segmentCountBetweenEdgePair number of line segments between edgeA and edgeB (exclusive)
-         * @param segmentCountOutsideEdgePair number of line segments between edgeB and edgeA (exclusive)
          * @return A list of 0, 1 or 2 possible cuts
          */
         public List<Cut> getCuts(Polygon polygon, double singlePartArea) {
-            // sanity-check
-            if (!polygon.contains(trapezoid) || (triangle1 != null && !polygon.contains(triangle1)) || (triangle2 != null && !polygon.contains(triangle2))) {
-                // FIXME: some part of subpolygon falls outside of the actual polygon. This can happen for some convex polygons.
-                // A proper solution might likely be to update the subpolygon with the actual part of the polygon covered, but this needs to be researched.
-                return Collections.emptyList();
-            }
+            return getCuts(new IndexedPolygon(polygon), singlePartArea);
+        }
 
-            List<Cut> cuts = new ArrayList<>(2);
+        /**
+         * Same as {@link #getCuts(Polygon, double)}, but reuses the structures derived from the polygon, which are shared by all edge pairs.
+         *
+         * @param indexedPolygon The polygon from which the area should be cut away
+         * @param singlePartArea area to cut away
+         * @return A list of 0, 1 or 2 possible cuts
+         */
+        List<Cut> getCuts(IndexedPolygon indexedPolygon, double singlePartArea) {
+            List<LineSegment> segments = indexedPolygon.getSegments();
+            return getCuts(indexedPolygon, segments.indexOf(edgeA), segments.indexOf(edgeB), singlePartArea);
+        }
 
-            List<LineSegment> segments = GeometryUtils.getLineSegments(polygon.getExteriorRing());
-            int indexOfEdgeA = segments.indexOf(edgeA);
-            int indexOfEdgeB = segments.indexOf(edgeB);
+        /**
+         * Same as {@link #getCuts(IndexedPolygon, double)}, but takes the positions of edges in the exterior ring instead of looking them up.
+         *
+         * @param indexedPolygon The polygon from which the area should be cut away
+         * @param indexOfEdgeA index of edgeA in {@link IndexedPolygon#getSegments()}
+         * @param indexOfEdgeB index of edgeB in {@link IndexedPolygon#getSegments()}, must be greater than indexOfEdgeA
+         * @param singlePartArea area to cut away
+         * @return A list of 0, 1 or 2 possible cuts
+         */
+        List<Cut> getCuts(IndexedPolygon indexedPolygon, int indexOfEdgeA, int indexOfEdgeB, double singlePartArea) {
+            int segmentCount = indexedPolygon.getSegmentCount();
             int segmentsCovered = indexOfEdgeB - indexOfEdgeA + 1;            // number of segments covered by a LineRing starting with edgeA and ending with edgeB (including)
 
             // Polygon's exterior ring is equal to [edgeA + segmentsBetweenEdgePair + edgeB + segmentsOutsideEdgePair]
             int segmentCountBetweenEdgePair = segmentsCovered - 2;
-            int segmentCountOutsideEdgePair = segments.size() - segmentsCovered;
+            int segmentCountOutsideEdgePair = segmentCount - segmentsCovered;
 
             // if edges are not connected directly, polygon has extra area adjacent to them
-            Polygon polygonOutside1 = null;
-            Polygon polygonOutside2 = null;
-            if (segmentCountBetweenEdgePair > 1) {
-                // calculate extra area bounded by segmentsBetweenEdgePair
-                polygonOutside1 = GeometryFactoryUtils.getSubpolygon(polygon, edgeA.p1, edgeB.p0);
-
-                // TODO: determine if this is always correct
-                // short circuit for when the area between edgePoints contains some which is not part of
-                if (!polygon.contains(polygonOutside1)) {
-                    return Collections.emptyList();
-                }
+            double areaOutside1 = segmentCountBetweenEdgePair > 1 ? indexedPolygon.getSubpolygonArea(indexOfEdgeA + 1, indexOfEdgeB) : 0;
+            double areaOutside2 = segmentCountOutsideEdgePair > 1 ? indexedPolygon.getSubpolygonArea((indexOfEdgeB + 1) % segmentCount, indexOfEdgeA) : 0;
+            double totalArea = getTotalArea();
+            if ((areaOutside1 > singlePartArea || areaOutside1 + totalArea < singlePartArea)
+                    && (areaOutside2 > singlePartArea || areaOutside2 + totalArea < singlePartArea)) {
+                // short circuit for when neither direction can produce a cut, no need to check the extra areas
+                return rejected(indexedPolygon, Rejection.AREA_OUT_OF_REACH);
             }
-            if (segmentCountOutsideEdgePair > 1) {
-                // calculate extra area bounded by segmentsOutsideEdgePair
-                polygonOutside2 = GeometryFactoryUtils.getSubpolygon(polygon, edgeB.p1, edgeA.p0);
-
-                // TODO: determine if this is always correct
-                // short circuit for when the area between edgePoints contains some which is not part of
-                if (!polygon.contains(polygonOutside2)) {
-                    return Collections.emptyList();
+
+            // the pieces and the areas on both sides of them make up the polygon, unless rounding errors misplace a projected vertex, e.g. when the
+            // edges are nearly parallel and their lines intersect far away
+            double polygonArea = indexedPolygon.getArea();
+            if (!(Math.abs(areaOutside1 + areaOutside2 + totalArea - polygonArea) <= SanityChecks.AREA_TOLERANCE * polygonArea)) {
+                return rejected(indexedPolygon, Rejection.PIECE_OUTSIDE_POLYGON);
+            }
+
+            // any subpolygon with vertices on the exterior ring of a convex polygon lies inside it, thus the checks are only needed for concave ones
+            if (!indexedPolygon.isConvex()) {
+                // sanity-check
+                if (!indexedPolygon.containsPiece(trapezoid, indexOfEdgeA, indexOfEdgeB)
+                        || (triangle1 != null && !indexedPolygon.containsPiece(triangle1, indexOfEdgeA, indexOfEdgeB))
+                        || (triangle2 != null && !indexedPolygon.containsPiece(triangle2, indexOfEdgeA, indexOfEdgeB))) {
+                    // FIXME: some part of subpolygon falls outside of the actual polygon.
+                    // A proper solution might likely be to update the subpolygon with the actual part of the polygon covered, but this needs to be researched.
+                    return rejected(indexedPolygon, Rejection.PIECE_OUTSIDE_POLYGON);
+                }
+
+                if (segmentCountBetweenEdgePair > 1) {
+                    // extra area bounded by segmentsBetweenEdgePair
+                    // TODO: determine if this is always correct
+                    // short circuit for when the area between edgePoints contains some which is not part of
+                    if (!indexedPolygon.containsSubpolygon(indexOfEdgeA + 1, indexOfEdgeB)) {
+                        return rejected(indexedPolygon, Rejection.OUTSIDE_AREA_NOT_IN_POLYGON);
+                    }
+                }
+                if (segmentCountOutsideEdgePair > 1) {
+                    // extra area bounded by segmentsOutsideEdgePair
+                    // TODO: determine if this is always correct
+                    // short circuit for when the area between edgePoints contains some which is not part of
+                    if (!indexedPolygon.containsSubpolygon((indexOfEdgeB + 1) % segmentCount, indexOfEdgeA)) {
+                        return rejected(indexedPolygon, Rejection.OUTSIDE_AREA_NOT_IN_POLYGON);
+                    }
                 }
             }
-            double areaOutside1 = polygonOutside1 != null ? polygonOutside1.getArea() : 0;
-            double areaOutside2 = polygonOutside2 != null ? polygonOutside2.getArea() : 0;
+
+            List<Cut> cuts = new ArrayList<>(2);
 
             // check first direction (areaOutside1 + T1 + Trapezoid + T2)
             if (areaOutside1 <= singlePartArea) {
@@ -232,9 +321,7 @@ class EdgePair {
                     double areaToCutAwayInTriangle = singlePartArea - areaOutside1;
                     double fraction = areaToCutAwayInTriangle / triangle1Area;
 
-                    ProjectedVertex projected0 = (ProjectedVertex) triangle1.getCoordinates()[1];
-                    LineSegment edgeWithPointOfCut = projected0.isOnEdge(edgeA) ? new LineSegment(edgeA.p1, projected0) : new LineSegment(edgeB.p0, projected0);
-                    Coordinate pointOfCut = edgeWithPointOfCut.pointAlong(fraction);
+                    Coordinate pointOfCut = projected0.isOnEdge(edgeA) ? pointAlong(edgeA.p1, projected0, fraction) : pointAlong(edgeB.p0, projected0, fraction);
                     lineOfCut = GeometryUtils.isPointOnLineSegment(pointOfCut, edgeA) ? new LineSegment(pointOfCut, edgeB.p0) : new LineSegment(edgeA.p1, pointOfCut);
 
                 } else if (areaOutside1 + triangle1Area + trapezoidArea >= singlePartArea) {
@@ -243,8 +330,9 @@ class EdgePair {
                     double areaToCutAway = singlePartArea - (areaOutside1 + triangle1Area);
                     double fraction = areaToCutAway / trapezoidArea;
 
-                    LineSegment trapezoidEdgeOnEdgeA = GeometryUtils.getLineSegment(trapezoid.getExteriorRing(), 0, true); // this edge is reversed so it has the same direction as edgeB
-                    LineSegment trapezoidEdgeOnEdgeB = GeometryUtils.getLineSegment(trapezoid.getExteriorRing(), 2);
+                    LineSegment trapezoidEdgeOnEdgeA = new LineSegment(trapezoid[1], trapezoid[0]); // this edge is reversed so it has the same direction as edgeB
+                    LineSegment trapezoidEdgeOnEdgeB = new LineSegment(trapezoid[2], trapezoid[3]);
+                    fraction = getFractionAlongSides(trapezoidEdgeOnEdgeA, trapezoidEdgeOnEdgeB, fraction);
 
                     Coordinate pointOfCutOnEdgeA = trapezoidEdgeOnEdgeA.pointAlong(fraction);
                     Coordinate pointOfCutOnEdgeB = trapezoidEdgeOnEdgeB.pointAlong(fraction);
@@ -256,16 +344,19 @@ class EdgePair {
                     double areaToCutAwayInTriangle = singlePartArea - (areaOutside1 + triangle1Area + trapezoidArea);
                     double fraction = areaToCutAwayInTriangle / triangle2Area;
 
-                    ProjectedVertex projected1 = (ProjectedVertex) triangle2.getCoordinates()[1];
-                    LineSegment edgeWithPointOfCut = projected1.isOnEdge(edgeA) ? new LineSegment(projected1, edgeA.p0) : new LineSegment(projected1, edgeB.p1);
-                    Coordinate pointOfCut = edgeWithPointOfCut.pointAlong(fraction);
+                    Coordinate pointOfCut = projected1.isOnEdge(edgeA) ? pointAlong(projected1, edgeA.p0, fraction) : pointAlong(projected1, edgeB.p1, fraction);
                     lineOfCut = GeometryUtils.isPointOnLineSegment(pointOfCut, edgeA) ? new LineSegment(pointOfCut, edgeB.p1) : new LineSegment(edgeA.p0, pointOfCut);
                 }
 
-                if (lineOfCut != null && !GeometryUtils.isIntersectingPolygon(lineOfCut, polygon)) {
-                    // only consider cuts that do not intersect the exterior ring of the polygon
-                    Polygon cutAwayPolygon = GeometryFactoryUtils.slicePolygon(polygon, lineOfCut.p0, lineOfCut.p1);
-                    cuts.add(new Cut(lineOfCut.getLength(), cutAwayPolygon));
+                if (lineOfCut != null) {
+                    if (!isOnEdges(lineOfCut, edgeA, edgeB) || isAlongEdges(lineOfCut)) {
+                        rejected(indexedPolygon, Rejection.LINE_OF_CUT_DEGENERATE);
+                    } else if (indexedPolygon.isConvex() || !indexedPolygon.isIntersecting(lineOfCut)) {
+                        // only consider cuts that do not intersect the exterior ring of the polygon
+                        cuts.add(new Cut(lineOfCut, indexedPolygon, indexOfEdgeA, indexOfEdgeB));
+                    } else {
+                        rejected(indexedPolygon, Rejection.LINE_OF_CUT_CROSSING_RING);
+                    }
                 }
             }
 
@@ -278,9 +369,7 @@ class EdgePair {
                     double areaToCutAwayInTriangle = singlePartArea - areaOutside2;
                     double fraction = areaToCutAwayInTriangle / triangle2Area;
 
-                    ProjectedVertex projected1 = (ProjectedVertex) triangle2.getCoordinates()[1];
-                    LineSegment edgeWithPointOfCut = projected1.isOnEdge(edgeA) ? new LineSegment(edgeA.p0, projected1) : new LineSegment(edgeB.p1, projected1);
-                    Coordinate pointOfCut = edgeWithPointOfCut.pointAlong(fraction);
+                    Coordinate pointOfCut = projected1.isOnEdge(edgeA) ? pointAlong(edgeA.p0, projected1, fraction) : pointAlong(edgeB.p1, projected1, fraction);
                     lineOfCut = GeometryUtils.isPointOnLineSegment(pointOfCut, edgeA) ? new LineSegment(edgeB.p1, pointOfCut) : new LineSegment(pointOfCut, edgeA.p0);
 
                 } else if (areaOutside2 + triangle2Area + trapezoidArea >= singlePartArea) {
@@ -289,8 +378,9 @@ class EdgePair {
                     double areaToCutAway = singlePartArea - (areaOutside2 + triangle2Area);
                     double fraction = areaToCutAway / trapezoidArea;
 
-                    LineSegment trapezoidEdgeOnEdgeA = GeometryUtils.getLineSegment(trapezoid.getExteriorRing(), 0);
-                    LineSegment trapezoidEdgeOnEdgeB = GeometryUtils.getLineSegment(trapezoid.getExteriorRing(), 2, true);  // this edge is reversed so it has the same direction as edgeA
+                    LineSegment trapezoidEdgeOnEdgeA = new LineSegment(trapezoid[0], trapezoid[1]);
+                    LineSegment trapezoidEdgeOnEdgeB = new LineSegment(trapezoid[3], trapezoid[2]);  // this edge is reversed so it has the same direction as edgeA
+                    fraction = getFractionAlongSides(trapezoidEdgeOnEdgeA, trapezoidEdgeOnEdgeB, fraction);
 
                     Coordinate pointOfCutOnEdgeA = trapezoidEdgeOnEdgeA.pointAlong(fraction);
                     Coordinate pointOfCutOnEdgeB = trapezoidEdgeOnEdgeB.pointAlong(fraction);
@@ -302,31 +392,123 @@ class EdgePair {
                     double areaToCutAwayInTriangle = singlePartArea - (areaOutside2 + triangle2Area + trapezoidArea);
                     double fraction = areaToCutAwayInTriangle / triangle1Area;
 
-                    ProjectedVertex projected0 = (ProjectedVertex) triangle1.getCoordinates()[1];
-                    LineSegment edgeWithPointOfCut = projected0.isOnEdge(edgeA) ? new LineSegment(projected0, edgeA.p1) : new LineSegment(projected0, edgeB.p0);
-                    Coordinate pointOfCut = edgeWithPointOfCut.pointAlong(fraction);
+                    Coordinate pointOfCut = projected0.isOnEdge(edgeA) ? pointAlong(projected0, edgeA.p1, fraction) : pointAlong(projected0, edgeB.p0, fraction);
                     lineOfCut = GeometryUtils.isPointOnLineSegment(pointOfCut, edgeA) ? new LineSegment(edgeB.p0, pointOfCut) : new LineSegment(pointOfCut, edgeA.p1);
                 }
 
-                if (lineOfCut != null && !GeometryUtils.isIntersectingPolygon(lineOfCut, polygon)) {
-                    // only consider cuts that do not intersect the exterior ring of the polygon
-                    Polygon cutAwayPolygon = GeometryFactoryUtils.slicePolygon(polygon, lineOfCut.p0, lineOfCut.p1);
-                    cuts.add(new Cut(lineOfCut.getLength(), cutAwayPolygon));
+                if (lineOfCut != null) {
+                    if (!isOnEdges(lineOfCut, edgeB, edgeA) || isAlongEdges(lineOfCut)) {
+                        rejected(indexedPolygon, Rejection.LINE_OF_CUT_DEGENERATE);
+                    } else if (indexedPolygon.isConvex() || !indexedPolygon.isIntersecting(lineOfCut)) {
+                        // only consider cuts that do not intersect the exterior ring of the polygon
+                        cuts.add(new Cut(lineOfCut, indexedPolygon, indexOfEdgeB, indexOfEdgeA));
+                    } else {
+                        rejected(indexedPolygon, Rejection.LINE_OF_CUT_CROSSING_RING);
+                    }
                 }
             }
 
-            // TODO: remove this
-            // sanity check
-            if (!GeometryUtils.equalWithinDelta(areaOutside1 + areaOutside2 + getTotalArea(), polygon.getArea())) {
-                throw new IllegalStateException();
+            return Collections.unmodifiableList(cuts);
+        }
+
+        /**
+         * Records the rejection if the search is measured
+         *
+         * @return no cuts
+         */
+        private static List<Cut> rejected(IndexedPolygon indexedPolygon, Rejection rejection) {
+            SearchMetrics searchMetrics = indexedPolygon.getSearchMetrics();
+            if (searchMetrics != null) {
+                searchMetrics.recordRejection(rejection);
             }
+            return Collections.emptyList();
+        }
 
-            return Collections.unmodifiableList(cuts);
+        /**
+         * Same as {@link LineSegment#pointAlong(double)} for the line from start to end, without creating the line
+         */
+        private static Coordinate pointAlong(Coordinate start, Coordinate end, double fraction) {
+            return new Coordinate(start.x + fraction * (end.x - start.x), start.y + fraction * (end.y - start.y));
+        }
+
+        /**
+         * Checks that the line of cut starts on its start edge and ends on its end edge, thus the area computed for it is the area cut away
+         */
+        private static boolean isOnEdges(LineSegment lineOfCut, LineSegment startEdge, LineSegment endEdge) {
+            return GeometryUtils.isPointOnLineSegment(lineOfCut.p0, startEdge) && GeometryUtils.isPointOnLineSegment(lineOfCut.p1, endEdge);
+        }
+
+        /**
+         * Checks if the line of cut overlaps edgeA or edgeB. This happens for some pairs of perpendicular edges, where the line of cut starts on one
+         * edge and goes along it before leaving the ring at its end vertex, thus the part cut away would have a spike of zero width.
+         */
+        private boolean isAlongEdges(LineSegment lineOfCut) {
+            return GeometryUtils.isOverlapping(lineOfCut, edgeA) || GeometryUtils.isOverlapping(lineOfCut, edgeB);
+        }
+
+        /**
+         * Finds the fraction of the length of both sides at which the line of cut connecting them cuts away the given fraction of the trapezoid's
+         * area.<br>
+         * Unless the sides are parallel, the area cut away grows quadratically with the fraction of their length, thus the two are not equal.
+         * Of the two roots of the quadratic equation, the one between 0 and 1 is taken. If rounding errors put neither of them there, the
+         * fraction is found by bisection.
+         *
+         * @param sideA side of the trapezoid on edgeA
+         * @param sideB side of the trapezoid on edgeB, going in the same direction as sideA
+         * @param fractionOfArea fraction of the trapezoid's area to cut away, starting at sideA.p0 and sideB.p0
+         * @return fraction of the length of the sides
+         */
+        static double getFractionAlongSides(LineSegment sideA, LineSegment sideB, double fractionOfArea) {
+            // doubled signed area between the line connecting the start points and the line connecting the points at fraction t of the sides:
+            // linear * t + quadratic * t^2
+            double wx = sideB.p0.x - sideA.p0.x;
+            double wy = sideB.p0.y - sideA.p0.y;
+            double ax = sideA.p1.x - sideA.p0.x;
+            double ay = sideA.p1.y - sideA.p0.y;
+            double bx = sideB.p1.x - sideB.p0.x;
+            double by = sideB.p1.y - sideB.p0.y;
+            double linear = wx * (ay + by) - wy * (ax + bx);
+            double quadratic = bx * ay - by * ax;
+
+            double doubledArea = fractionOfArea * (linear + quadratic);
+            double discriminant = linear * linear + 4 * quadratic * doubledArea;
+            if (discriminant >= 0) {
+                // these forms of the roots of quadratic equation do not lose precision when either term is close to 0
+                double q = linear + Math.copySign(Math.sqrt(discriminant), linear);
+                if (q != 0) {
+                    double root = 2 * doubledArea / q;
+                    if (root >= -FRACTION_TOLERANCE && root <= 1 + FRACTION_TOLERANCE) {
+                        return Math.max(0, Math.min(1, root));
+                    }
+                }
+                if (quadratic != 0) {
+                    double root = -q / (2 * quadratic);
+                    if (root >= -FRACTION_TOLERANCE && root <= 1 + FRACTION_TOLERANCE) {
+                        return Math.max(0, Math.min(1, root));
+                    }
+                }
+            }
+
+            // the area cut away at 0 and at 1 lies on both sides of the area to cut away, thus bisection converges to a root in between
+            double low = 0;
+            double high = 1;
+            double lowValue = -doubledArea;
+            for (int i = 0; i < MAX_BISECTION_STEPS && low < high; i++) {
+                double middle = (low + high) / 2;
+                double middleValue = (linear + quadratic * middle) * middle - doubledArea;
+                if ((middleValue < 0) == (lowValue < 0)) {
+                    low = middle;
+                    lowValue = middleValue;
+                } else {
+                    high = middle;
+                }
+            }
+            return (low + high) / 2;
         }
 
         @Override
         public String toString() {
-            return "EdgePairSubpolygons [triangle1=" + triangle1 + ", trapezoid=" + trapezoid + ", triangle2=" + triangle2 + "]";
+            return "EdgePairSubpolygons [triangle1=" + getTriangle1() + ", trapezoid=" + getTrapezoid() + ", triangle2=" + getTriangle2() + "]";
         }
     }
 }
\ No newline at end of file
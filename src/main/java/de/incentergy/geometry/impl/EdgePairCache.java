@@ -0,0 +1,149 @@
+package de.incentergy.geometry.impl;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.vividsolutions.jts.geom.LineSegment;
+
+import de.incentergy.geometry.impl.EdgePair.EdgePairSubpolygons;
+
+/**
+ * Keeps the {@link EdgePairSubpolygons} of edge pairs evaluated while searching for a cut, so that the following greedy iterations do not
+ * build them again.<br>
+ * The subpolygons depend only on the two edges. Positions of the edges in the exterior ring shift when a part is cut away, thus every edge is
+ * given an id, which it keeps for as long as it stays in the ring. Edges are matched by their vertices once per polygon (see
+ * {@link #identifyEdges(List)}), so that looking up an edge pair takes just its two ids.<br>
+ * A cut splits the edges it starts and ends on, and the edges between them leave with the part cut away, thus only the pairs having one of
+ * these edges are invalidated. Everything depending on the rest of the ring or on the area to cut away is evaluated anew in every iteration.
+ * <br>
+ * The number of pairs kept is bounded: a search may evaluate a number of pairs quadratic in the number of vertices, and keeping all of them
+ * costs more in garbage collection than building them again.
+ * <p>
+ * Looking up the subpolygons is safe from multiple threads, identifying the edges and invalidating are not.
+ */
+final class EdgePairCache {
+
+    private final int maxSize;
+    private final Map<Key, EdgePairSubpolygons> subpolygons;
+    private final Map<Edge, Integer> edgeIds = new HashMap<>();
+    private int nextEdgeId;
+
+    /**
+     * @param maxSize maximum number of edge pairs kept at once, the pairs evaluated beyond it are built anew every time
+     */
+    EdgePairCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.subpolygons = new ConcurrentHashMap<>(maxSize);
+    }
+
+    /**
+     * Gives ids to the segments of an exterior ring. Segments which were identified before keep their ids.
+     *
+     * @return ids of the segments, in the same order
+     */
+    int[] identifyEdges(List<LineSegment> segments) {
+        int[] ids = new int[segments.size()];
+        for (int k = 0; k < ids.length; k++) {
+            ids[k] = edgeIds.computeIfAbsent(new Edge(segments.get(k)), edge -> nextEdgeId++);
+        }
+        return ids;
+    }
+
+    /**
+     * @param indexOfEdgeA index of edgeA in {@link IndexedPolygon#getSegments()}
+     * @param indexOfEdgeB index of edgeB in {@link IndexedPolygon#getSegments()}
+     * @return subpolygons of the edge pair, built if they are not kept yet
+     */
+    EdgePairSubpolygons getSubpolygons(IndexedPolygon polygon, int indexOfEdgeA, int indexOfEdgeB) {
+        Key key = new Key(polygon.getEdgeId(indexOfEdgeA), polygon.getEdgeId(indexOfEdgeB));
+        EdgePairSubpolygons edgePairSubpolygons = subpolygons.get(key);
+        if (edgePairSubpolygons == null) {
+            // concurrent searches may build the same subpolygons, either of them can be kept
+            edgePairSubpolygons = new EdgePair(polygon, indexOfEdgeA, indexOfEdgeB).getSubpolygons();
+            if (subpolygons.size() < maxSize) {
+                subpolygons.put(key, edgePairSubpolygons);
+            }
+        }
+        return edgePairSubpolygons;
+    }
+
+    /**
+     * Invalidates the pairs having any of the edges which do not remain in the exterior ring after the cut, i.e. the edges from the one
+     * containing the start of line of cut to the one containing its end
+     */
+    void invalidate(Cut cut) {
+        IndexedPolygon polygon = cut.getPolygon();
+        int segmentCount = polygon.getSegmentCount();
+        BitSet removedEdgeIds = new BitSet(nextEdgeId);
+        for (int k = cut.getStartSegment(); ; k = (k + 1) % segmentCount) {
+            edgeIds.remove(new Edge(polygon.getSegments().get(k)));
+            removedEdgeIds.set(polygon.getEdgeId(k));
+            if (k == cut.getEndSegment()) {
+                break;
+            }
+        }
+        subpolygons.keySet().removeIf(key -> removedEdgeIds.get(key.edgeIdA) || removedEdgeIds.get(key.edgeIdB));
+    }
+
+    /**
+     * @return number of edge pairs kept
+     */
+    int size() {
+        return subpolygons.size();
+    }
+
+    private static final class Key {
+        private final int edgeIdA;
+        private final int edgeIdB;
+
+        private Key(int edgeIdA, int edgeIdB) {
+            this.edgeIdA = edgeIdA;
+            this.edgeIdB = edgeIdB;
+        }
+
+        @Override
+        public int hashCode() {
+            return edgeIdA * 0x9E3779B9 + edgeIdB;            // ids are small consecutive numbers, the multiplier spreads them
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return edgeIdA == other.edgeIdA && edgeIdB == other.edgeIdB;
+        }
+    }
+
+    /**
+     * Identifies an edge by its vertices.<br>
+     * {@link LineSegment#hashCode()} is not used, as it XORs the hashes of both vertices and thus collides for the edges of rectilinear
+     * polygons, whose vertices share coordinates.
+     */
+    private static final class Edge {
+        private final LineSegment segment;
+        private final int hash;
+
+        private Edge(LineSegment segment) {
+            this.segment = segment;
+            int hash = Double.hashCode(segment.p0.x);
+            hash = 31 * hash + Double.hashCode(segment.p0.y);
+            hash = 31 * hash + Double.hashCode(segment.p1.x);
+            this.hash = 31 * hash + Double.hashCode(segment.p1.y);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Edge && segment.equals(((Edge) obj).segment);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package de.incentergy.geometry.impl;
+
+import de.incentergy.geometry.SplitListener.IterationMetrics;
+
+/**
+ * Emits JDK Flight Recorder events of the splits.<br>
+ * JFR is not available on Java 8, thus this implementation does nothing. On Java 11 and later, the class of the same name in
+ * {@code META-INF/versions/11} of the multi-release JAR is loaded instead, which emits the events while a recording is running.
+ * <p>
+ * Events are passed around as plain objects, so that the callers do not depend on the JFR classes. A null event means that it is not
+ * recorded, in which case no metrics need to be collected for it.
+ */
+final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * @return a started split event, or null if it is not recorded
+     */
+    static Object beginSplit() {
+        return null;
+    }
+
+    /**
+     * @param splitEvent event returned by {@link #beginSplit()}
+     */
+    static void endSplit(Object splitEvent, int vertexCount, int numberOfParts) {
+    }
+
+    /**
+     * @return a started iteration event, or null if it is not recorded
+     */
+    static Object beginIteration() {
+        return null;
+    }
+
+    /**
+     * @param iterationEvent event returned by {@link #beginIteration()}
+     */
+    static void endIteration(Object iterationEvent, IterationMetrics metrics) {
+    }
+
+    static void sanityCheckFailed(String message) {
+    }
+}
@@ -1,17 +1,29 @@
 package de.incentergy.geometry.impl;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.vividsolutions.jts.geom.LineSegment;
 import com.vividsolutions.jts.geom.Polygon;
 
 import de.incentergy.geometry.PolygonSplitter;
-import de.incentergy.geometry.impl.EdgePair.EdgePairSubpolygons;
-import de.incentergy.geometry.utils.GeometryFactoryUtils;
-import de.incentergy.geometry.utils.GeometryUtils;
+import de.incentergy.geometry.SplitListener;
+import de.incentergy.geometry.SplitListener.IterationMetrics;
+import de.incentergy.geometry.SplitListener.SplitMetrics;
+import de.incentergy.geometry.SplitResult;
+import de.incentergy.geometry.SplitResult.Chord;
+import de.incentergy.geometry.impl.ValidationPolicy.Level;
 
 /**
  * {@link PolygonSplitter} implementation based on the algorithm by Sumit Khetarpal
@@ -20,69 +32,379 @@ import de.incentergy.geometry.utils.GeometryUtils;
  */
 public class GreedyPolygonSplitter implements PolygonSplitter {
 
+    /**
+     * Default minimum number of exterior ring segments for edge pairs to be evaluated in parallel.<br>
+     * For smaller polygons the overhead of scheduling the tasks outweighs the gain.
+     */
+    public static final int DEFAULT_PARALLELISM_THRESHOLD = 64;
+
+    /**
+     * Number of edge pairs whose subpolygons are kept between the greedy iterations, per vertex of the original polygon
+     */
+    private static final int EDGE_PAIRS_CACHED_PER_VERTEX = 16;
+
+    private final Executor executor;                // null if edge pairs are evaluated on the calling thread
+    private final int parallelismThreshold;
+    private final ValidationPolicy validationPolicy;
+    private final double simplificationTolerance;   // 0 if the full ring is always searched
+    private final SplitListener listener;
+    private final ShortestCutSearch shortestCutSearch;
+
+    /**
+     * Creates a splitter which evaluates all edge pairs on the calling thread and performs {@link ValidationPolicy#FULL all the sanity checks}
+     */
+    public GreedyPolygonSplitter() {
+        this(null, DEFAULT_PARALLELISM_THRESHOLD, ValidationPolicy.FULL, 0, SplitListener.NONE);
+    }
+
+    private GreedyPolygonSplitter(Executor executor, int parallelismThreshold, ValidationPolicy validationPolicy, double simplificationTolerance,
+            SplitListener listener) {
+        this.executor = executor;
+        this.parallelismThreshold = parallelismThreshold;
+        this.validationPolicy = validationPolicy;
+        this.simplificationTolerance = simplificationTolerance;
+        this.listener = listener;
+        this.shortestCutSearch = new ShortestCutSearch(executor, parallelismThreshold, simplificationTolerance);
+    }
+
+    /**
+     * Returns a splitter which evaluates edge pairs of large polygons on the {@link ForkJoinPool#commonPool() common fork-join pool}
+     */
+    public GreedyPolygonSplitter parallel() {
+        return withExecutor(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a splitter which evaluates edge pairs of large polygons using the provided executor.<br>
+     * The result is the same as when evaluating serially. Note: the calling thread blocks until all edge pairs are evaluated, thus the executor
+     * should not be a bounded pool which is also used to run the {@link #split(Polygon, int)} calls themselves.
+     *
+     * @param executor executor to run the evaluation on
+     */
+    public GreedyPolygonSplitter withExecutor(Executor executor) {
+        return new GreedyPolygonSplitter(Objects.requireNonNull(executor, "Executor is required"), parallelismThreshold, validationPolicy,
+                simplificationTolerance, listener);
+    }
+
+    /**
+     * Returns a splitter which evaluates edge pairs in parallel only for polygons having at least the given number of exterior ring segments
+     *
+     * @param segmentCount minimum number of segments
+     */
+    public GreedyPolygonSplitter withParallelismThreshold(int segmentCount) {
+        if (segmentCount < 1) {
+            throw new IllegalArgumentException("Parallelism threshold should be positive!");
+        }
+        return new GreedyPolygonSplitter(executor, segmentCount, validationPolicy, simplificationTolerance, listener);
+    }
+
+    /**
+     * Returns a splitter which performs the sanity checks determined by the provided policy
+     *
+     * @param validationPolicy policy determining which checks to perform
+     */
+    public GreedyPolygonSplitter withValidationPolicy(ValidationPolicy validationPolicy) {
+        return new GreedyPolygonSplitter(executor, parallelismThreshold, Objects.requireNonNull(validationPolicy, "Validation policy is required"),
+                simplificationTolerance, listener);
+    }
+
+    /**
+     * Returns a splitter which searches for each cut in two steps: first on the exterior ring simplified with the given tolerance (using the
+     * Douglas-Peucker algorithm), then on the full ring, but only near the edges of the cut found in the first step.<br>
+     * This makes splitting of polygons having thousands of vertices feasible, as only the simplified ring is searched exhaustively. The cuts are
+     * computed on the full ring, thus the areas of the parts are as precise as without simplification, but the cuts may be longer than the
+     * shortest ones. If no cut is found this way, the full ring is searched.
+     *
+     * @param distanceTolerance maximum distance of a vertex dropped by simplification from the simplified ring, or 0 to always search the full
+     *            ring
+     */
+    public GreedyPolygonSplitter withSimplificationTolerance(double distanceTolerance) {
+        if (!(distanceTolerance >= 0)) {
+            throw new IllegalArgumentException("Simplification tolerance should not be negative!");
+        }
+        return new GreedyPolygonSplitter(executor, parallelismThreshold, validationPolicy, distanceTolerance, listener);
+    }
+
+    /**
+     * Returns a splitter which reports the metrics of each greedy iteration and of each split to the provided listener.<br>
+     * Metrics are only collected if the listener is not {@link SplitListener#NONE}, which is the default.
+     *
+     * @param listener listener to report the metrics to
+     */
+    public GreedyPolygonSplitter withListener(SplitListener listener) {
+        return new GreedyPolygonSplitter(executor, parallelismThreshold, validationPolicy, simplificationTolerance,
+                Objects.requireNonNull(listener, "Listener is required"));
+    }
+
     @Override
     public List<Polygon> split(Polygon originalPolygon, int numberOfParts) {
-        if (!originalPolygon.isValid()) {
-            throw new IllegalArgumentException("Polygon is not valid!");
+        return split(originalPolygon, numberOfParts, Deadline.NONE, Mode.PARTS_AND_CUTS).getParts();
+    }
+
+    /**
+     * Same as {@link #split(Polygon, int)}, but bounds the time spent searching for the cuts.<br>
+     * Edge pairs are evaluated in ascending order of the distance between the edges, which is the lower bound of the length of their cuts, thus
+     * the most promising pairs come first. Once the time budget is spent, each search stops as soon as it has found any cut and takes the
+     * shortest cut found so far. The parts always have equal areas, but the cuts may be longer than the ones produced by
+     * {@link #split(Polygon, int)}, in which case the result is not optimal.
+     * <p>
+     * The budget is not a hard limit: a search goes on past it until the first cut is found, and neither the indexing of the polygon nor the
+     * sanity checks are interrupted.
+     *
+     * @param timeBudget time to spend searching for the cuts
+     * @return the parts and the cuts, marked as optimal if no search was cut short
+     */
+    public SplitResult split(Polygon originalPolygon, int numberOfParts, Duration timeBudget) {
+        if (Objects.requireNonNull(timeBudget, "Time budget is required").isNegative()) {
+            throw new IllegalArgumentException("Time budget should not be negative!");
         }
-        if (numberOfParts < 2) {
-            throw new IllegalArgumentException("Number of parts should be greater than 1!");
+        return split(originalPolygon, numberOfParts, Deadline.after(timeBudget), Mode.PARTS_AND_CUTS);
+    }
+
+    /**
+     * Same as {@link #split(Polygon, int)}, but only the cuts are kept: the parts cut away are not built until they are requested from the
+     * result, thus consumers which need just the lines of cut (e.g. for rendering) or the areas of the parts never build them.<br>
+     * The polygon and number of parts are validated upfront and the total area of the parts is checked, if required by the
+     * {@link ValidationPolicy}. As the parts are not built, the lines of cut and the union of the parts are never checked.
+     *
+     * @return the cuts, lines of cut and areas of the parts, with the parts built on first access
+     */
+    public SplitResult splitLazily(Polygon originalPolygon, int numberOfParts) {
+        return split(originalPolygon, numberOfParts, Deadline.NONE, Mode.CUTS);
+    }
+
+    private SplitResult split(Polygon originalPolygon, int numberOfParts, Deadline deadline, Mode mode) {
+        Object splitEvent = FlightRecorderEvents.beginSplit();
+        try {
+            long start = measured() ? System.nanoTime() : 0;
+            Level validationLevel = validationPolicy.nextLevel();
+            SanityChecks.validate(originalPolygon, numberOfParts, validationLevel);
+
+            List<Polygon> polygonParts = mode == Mode.CUTS ? null : new ArrayList<>(numberOfParts);
+            PartIterator partIterator = new PartIterator(originalPolygon, numberOfParts, validationLevel, deadline, mode);
+            while (partIterator.hasNext()) {
+                Polygon part = partIterator.next();
+                if (polygonParts != null) {
+                    polygonParts.add(part);
+                }
+            }
+
+            long checksStart = measured() ? System.nanoTime() : 0;
+            if (polygonParts != null && validationLevel.compareTo(Level.TOPOLOGY) >= 0) {
+                // sanity check: parts are adjacent along the lines of cut
+                SanityChecks.checkLinesOfCut(partIterator.linesOfCut, polygonParts);
+            }
+            if (polygonParts != null && validationLevel == Level.FULL) {
+                // sanity check: geometry is the same
+                SanityChecks.checkUnion(polygonParts, originalPolygon);
+            }
+            if (measured()) {
+                long end = System.nanoTime();
+                listener.splitCompleted(new SplitMetrics(numberOfParts, partIterator.sanityCheckNanos + end - checksStart, end - start));
+            }
+
+            return new SplitResult(originalPolygon, partIterator.chords, polygonParts == null ? null : Collections.unmodifiableList(polygonParts),
+                    partIterator.linesOfCut, partIterator.partAreas, !deadline.wasCutShort());
+        } finally {
+            // failed splits are recorded as well
+            FlightRecorderEvents.endSplit(splitEvent, originalPolygon == null ? 0 : originalPolygon.getNumPoints(), numberOfParts);
         }
-        // TODO: add validation - at least 4 sides, no holes
+    }
+
+    /**
+     * @return true if the metrics are reported, otherwise nothing is measured
+     */
+    private boolean measured() {
+        return listener != SplitListener.NONE;
+    }
 
-        double singlePartArea = originalPolygon.getArea() / numberOfParts;
+    /**
+     * Same as {@link #split(Polygon, int)}, but produces the parts lazily: each part is cut away only when it is requested from the stream,
+     * and only the remaining part of the polygon is kept in between.<br>
+     * The polygon and number of parts are validated upfront and the total area of the parts is checked when the last part is produced, if
+     * required by the {@link ValidationPolicy}. As the parts are not retained, the lines of cut and the union of the parts are never checked,
+     * thus {@link ValidationPolicy#TOPOLOGY TOPOLOGY} and {@link ValidationPolicy#FULL FULL} validation amount to
+     * {@link ValidationPolicy#AREA_ONLY AREA_ONLY} here.
+     *
+     * @return a sequential stream of exactly numberOfParts parts, in the same order as returned by {@link #split(Polygon, int)}
+     */
+    public Stream<Polygon> splitAsStream(Polygon originalPolygon, int numberOfParts) {
+        Level validationLevel = validationPolicy.nextLevel();
+        SanityChecks.validate(originalPolygon, numberOfParts, validationLevel);
 
-        List<Polygon> polygonParts = new ArrayList<>(numberOfParts);
-        Polygon remainingPoly = originalPolygon;
-        for (int i = 0; i < numberOfParts - 1; i++) {
-            remainingPoly = split(remainingPoly, polygonParts, singlePartArea);
+        PartIterator partIterator = new PartIterator(originalPolygon, numberOfParts, validationLevel, Deadline.NONE, Mode.STREAM);
+        Spliterator<Polygon> parts = Spliterators.spliterator(partIterator, numberOfParts, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(parts, false);
+    }
+
+    /**
+     * What the {@link PartIterator} produces and keeps
+     */
+    private enum Mode {
+        /** parts are produced one by one and not retained, the split is reported when the last part is produced */
+        STREAM,
+        /** parts are built and the cuts are kept, the caller checks the parts further and reports the split */
+        PARTS_AND_CUTS,
+        /** only the cuts are kept, the parts cut away are not built; the caller reports the split */
+        CUTS
+    }
+
+    /**
+     * Produces the parts one greedy iteration at a time, the last part being the remainder of the polygon
+     */
+    private class PartIterator implements Iterator<Polygon> {
+        private final double originalArea;
+        private final double singlePartArea;
+        private final boolean checkArea;
+        private final List<LineSegment> linesOfCut;         // null if the cuts are not kept
+        private final List<Chord> chords;                   // null if the cuts are not kept
+        private final double[] partAreas;                   // null if the cuts are not kept
+        private final Deadline deadline;
+        private final EdgePairCache edgePairCache;         // subpolygons of edge pairs are kept for the following iterations
+        private final int numberOfParts;
+        private final boolean buildsParts;                 // false if only the cuts are kept, next() then returns null for the parts cut away
+        private final boolean reportsSplit;                // true if the split is completed when the last part is produced
+        private final long start;                           // 0 if the split is not measured
+        private Object splitEvent;                          // null if the split is not recorded by the iterator or has been recorded already
+        private final int vertexCount;
+        private Polygon remainingPoly;
+        private int partsLeft;
+        private double totalAreaOfTheParts;
+        private long sanityCheckNanos;
+
+        private PartIterator(Polygon originalPolygon, int numberOfParts, Level validationLevel, Deadline deadline, Mode mode) {
+            boolean keepsCuts = mode != Mode.STREAM;
+            this.originalArea = originalPolygon.getArea();
+            this.edgePairCache = new EdgePairCache(EDGE_PAIRS_CACHED_PER_VERTEX * originalPolygon.getNumPoints());
+            this.singlePartArea = originalArea / numberOfParts;
+            this.checkArea = validationLevel.compareTo(Level.AREA_ONLY) >= 0;
+            this.linesOfCut = keepsCuts ? new ArrayList<>(numberOfParts - 1) : null;           // streamed parts are never checked against them
+            this.chords = keepsCuts ? new ArrayList<>(numberOfParts - 1) : null;
+            this.partAreas = keepsCuts ? new double[numberOfParts] : null;
+            this.deadline = deadline;
+            this.numberOfParts = numberOfParts;
+            this.buildsParts = mode != Mode.CUTS;
+            this.reportsSplit = mode == Mode.STREAM;
+            this.start = measured() ? System.nanoTime() : 0;
+            this.splitEvent = reportsSplit ? FlightRecorderEvents.beginSplit() : null;
+            this.vertexCount = originalPolygon.getNumPoints();
+            this.remainingPoly = originalPolygon;
+            this.partsLeft = numberOfParts;
         }
-        polygonParts.add(remainingPoly);
 
-        // sanity check: total area is the same
-        double totalAreaOfTheParts = polygonParts.stream().mapToDouble(Polygon::getArea).sum();
-        if (!GeometryUtils.equalWithinDelta(totalAreaOfTheParts, originalPolygon.getArea())) {
-            throw new IllegalStateException("Area of the parts does not match original area");
+        @Override
+        public boolean hasNext() {
+            return partsLeft > 0;
         }
 
-        // sanity check: geometry is the same
-        Polygon unionOfTheParts = (Polygon) GeometryFactoryUtils.createGeometryCollection(polygonParts).union();
-        if (unionOfTheParts.equalsNorm(originalPolygon)) {
-            throw new IllegalStateException("The sum of the parts is not equal to the original polygon");
+        @Override
+        public Polygon next() {
+            if (partsLeft == 0) {
+                throw new NoSuchElementException();
+            }
+            partsLeft--;
+            boolean succeeded = false;
+            try {
+                Polygon part = partsLeft == 0 ? lastPart() : nextCutAway();
+                succeeded = true;
+                return part;
+            } finally {
+                if (partsLeft == 0 || !succeeded) {
+                    // the split is recorded once the last part is produced or producing a part fails
+                    FlightRecorderEvents.endSplit(splitEvent, vertexCount, numberOfParts);
+                    splitEvent = null;
+                }
+            }
         }
 
-        return Collections.unmodifiableList(polygonParts);
-    }
+        private Polygon lastPart() {
+            Polygon lastPart = remainingPoly;
+            remainingPoly = null;
+            double lastPartArea = checkArea || partAreas != null ? lastPart.getArea() : 0;
+            if (partAreas != null) {
+                partAreas[numberOfParts - 1] = lastPartArea;
+            }
 
-    private Polygon split(Polygon polygon, List<Polygon> resultList, double singlePartArea) {
-        List<LineSegment> segments = GeometryUtils.getLineSegments(polygon.getExteriorRing());
+            // sanity check: total area is the same
+            if (checkArea) {
+                long checkStart = measured() ? System.nanoTime() : 0;
+                SanityChecks.checkArea(totalAreaOfTheParts + lastPartArea, originalArea);
+                if (measured()) {
+                    sanityCheckNanos += System.nanoTime() - checkStart;
+                }
+            }
+            if (reportsSplit && measured()) {
+                listener.splitCompleted(new SplitMetrics(numberOfParts, sanityCheckNanos, System.nanoTime() - start));
+            }
+            return lastPart;
+        }
 
-        List<Cut> possibleCuts = new ArrayList<>();
+        private Polygon nextCutAway() {
+            Object iterationEvent = FlightRecorderEvents.beginIteration();
+            if (measured() || iterationEvent != null) {
+                return nextMeasured(iterationEvent);
+            }
 
-        // for each unique edge pair
-        for (int i = 0; i < segments.size() - 2; i++) {
+            // greedy algorithm: take minimum cut length
+            Cut shortestCut = shortestCutSearch.getShortestCut(remainingPoly, singlePartArea, deadline, edgePairCache, null);
+            return cutAway(shortestCut);
+        }
 
-            // generate unique edge pairs (e.g. 2 pairs for any rectangle)
-            for (int j = i + 2; j < segments.size(); j++) {
-                int segmentsCovered = j - i + 1;            // number of segments covered by a LineRing starting with edgeA and ending with edgeB (including)
-                if (segments.size() == segmentsCovered) {
-                    break;
+        /**
+         * Same as cutting away the next part in {@link #next()}, but measures the search and reports it to the listener and as the event
+         *
+         * @param iterationEvent event returned by {@link FlightRecorderEvents#beginIteration()}
+         */
+        private Polygon nextMeasured(Object iterationEvent) {
+            SearchMetrics searchMetrics = new SearchMetrics();
+            int iteration = numberOfParts - partsLeft - 1;
+            long searchStart = System.nanoTime();
+            long cutStart = 0;
+            IterationMetrics metrics = null;
+            try {
+                Cut shortestCut = shortestCutSearch.getShortestCut(remainingPoly, singlePartArea, deadline, edgePairCache, searchMetrics);
+                cutStart = System.nanoTime();
+                Polygon cutAway = cutAway(shortestCut);
+                metrics = searchMetrics.toIterationMetrics(iteration, cutStart - searchStart, System.nanoTime() - cutStart);
+                listener.iterationCompleted(metrics);
+                return cutAway;
+            } finally {
+                if (iterationEvent != null) {
+                    if (metrics == null) {
+                        // the iteration failed, it is recorded up to the failure
+                        long end = System.nanoTime();
+                        metrics = cutStart == 0 ? searchMetrics.toIterationMetrics(iteration, end - searchStart, 0)
+                                : searchMetrics.toIterationMetrics(iteration, cutStart - searchStart, end - cutStart);
+                    }
+                    FlightRecorderEvents.endIteration(iterationEvent, metrics);
                 }
-
-                LineSegment edgeA = segments.get(i);
-                LineSegment edgeB = segments.get(j);
-                EdgePair edgePair = new EdgePair(edgeA, edgeB);
-                EdgePairSubpolygons subpolygons = edgePair.getSubpolygons();
-                List<Cut> cutForCurrentEdgePair = subpolygons.getCuts(polygon, singlePartArea);
-                possibleCuts.addAll(cutForCurrentEdgePair);
             }
         }
 
-        // greedy algorithm: take minimum cut length
-        Cut shortestCut = possibleCuts.stream().min(Comparator.comparing(Cut::getLength)).get();
-        resultList.add(shortestCut.getCutAway());
+        /**
+         * @return the part cut away, or null if the parts are not built
+         */
+        private Polygon cutAway(Cut shortestCut) {
+            edgePairCache.invalidate(shortestCut);
 
-        return (Polygon) polygon.difference(shortestCut.getCutAway());
+            // a straight cut between two points on the exterior ring leaves the complementary part of the ring, no need for an overlay operation
+            remainingPoly = shortestCut.getRemainder();
+            Polygon cutAway = buildsParts ? shortestCut.getCutAway() : null;
+            if (checkArea || partAreas != null) {
+                double area = cutAway != null ? cutAway.getArea() : shortestCut.getCutAwayArea();
+                totalAreaOfTheParts += area;
+                if (partAreas != null) {
+                    partAreas[numberOfParts - partsLeft - 1] = area;
+                }
+            }
+            if (linesOfCut != null) {
+                linesOfCut.add(shortestCut.getLineOfCut());
+            }
+            if (chords != null) {
+                chords.add(shortestCut.toChord());
+            }
+            return cutAway;
+        }
     }
 
 }
@@ -0,0 +1,306 @@
+package de.incentergy.geometry.impl;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import com.vividsolutions.jts.algorithm.RobustDeterminant;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.geom.prep.PreparedGeometry;
+import com.vividsolutions.jts.geom.prep.PreparedGeometryFactory;
+
+import de.incentergy.geometry.impl.EdgePair.EdgePairSubpolygons;
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+import de.incentergy.geometry.utils.GeometryUtils;
+import de.incentergy.geometry.utils.PackedRing;
+import de.incentergy.geometry.utils.RingCrossingIndex;
+
+/**
+ * A polygon being split, together with the structures derived from it.<br>
+ * These are built once per greedy iteration and shared by all the edge pairs evaluated during that iteration, thus must be safe to use from
+ * multiple threads. The only exception is the {@link PreparedGeometry}, which is not thread-safe: each search task evaluates its edge pairs on
+ * its own copy given by {@link #forSearchTask()}, which prepares the polygon when it is first needed.
+ */
+class IndexedPolygon {
+
+    private final Polygon polygon;
+    private final double area;
+    private final RingCrossingIndex ringCrossingIndex;
+
+    private final PackedRing ring;                      // exterior ring
+    private final List<LineSegment> segments;
+    private final double[] crossProductSums;            // crossProductSums[k] is the sum of shoelace formula terms for segments 0..k-1
+    private final boolean convex;
+    private final EdgePairCache edgePairCache;          // null if subpolygons of edge pairs are built anew for every search
+    private final int[] edgeIds;                        // ids of segments given by the cache, null if there is no cache
+    private final SearchMetrics searchMetrics;          // null if the search is not measured
+    private PreparedGeometry preparedPolygon;           // null until first needed, not shared between search tasks
+
+    IndexedPolygon(Polygon polygon) {
+        this(polygon, null, null);
+    }
+
+    /**
+     * @param edgePairCache cache of subpolygons of edge pairs kept between the searches, or null to build them anew
+     * @param searchMetrics metrics of the search to record the evaluation of edge pairs into, or null if the search is not measured
+     */
+    IndexedPolygon(Polygon polygon, EdgePairCache edgePairCache, SearchMetrics searchMetrics) {
+        this.polygon = Objects.requireNonNull(polygon, "Polygon is required");
+        this.area = polygon.getArea();
+        this.ringCrossingIndex = new RingCrossingIndex(polygon);
+        this.ring = new PackedRing(polygon.getExteriorRing());
+        this.segments = Collections.unmodifiableList(GeometryUtils.getLineSegments(polygon.getExteriorRing()));
+        int segmentCount = ring.getVertexCount();
+        this.crossProductSums = new double[segmentCount + 1];
+        for (int k = 0; k < segmentCount; k++) {
+            crossProductSums[k + 1] = crossProductSums[k] + getCrossProduct(k, k + 1);
+        }
+        this.convex = isConvex(ring);
+        this.edgePairCache = edgePairCache;
+        this.edgeIds = edgePairCache != null ? edgePairCache.identifyEdges(segments) : null;
+        this.searchMetrics = searchMetrics;
+    }
+
+    private IndexedPolygon(IndexedPolygon indexedPolygon) {
+        this.polygon = indexedPolygon.polygon;
+        this.area = indexedPolygon.area;
+        this.ringCrossingIndex = indexedPolygon.ringCrossingIndex;
+        this.ring = indexedPolygon.ring;
+        this.segments = indexedPolygon.segments;
+        this.crossProductSums = indexedPolygon.crossProductSums;
+        this.convex = indexedPolygon.convex;
+        this.edgePairCache = indexedPolygon.edgePairCache;
+        this.edgeIds = indexedPolygon.edgeIds;
+        this.searchMetrics = indexedPolygon.searchMetrics;
+    }
+
+    /**
+     * @return a copy sharing all the structures of this polygon apart from the prepared polygon, to be used by a single search task
+     */
+    IndexedPolygon forSearchTask() {
+        return new IndexedPolygon(this);
+    }
+
+    /**
+     * Checks if the ring turns the same way (or goes straight) at every vertex. Runs in linear time.<br>
+     * This is sufficient for a convex polygon, as the exterior ring of a valid polygon does not self-intersect.
+     */
+    private static boolean isConvex(PackedRing ring) {
+        int vertexCount = ring.getVertexCount();
+        int orientation = 0;
+        for (int k = 0; k < vertexCount; k++) {
+            int turn = RobustDeterminant.signOfDet2x2(
+                    ring.getX(k + 1) - ring.getX(k), ring.getY(k + 1) - ring.getY(k),
+                    ring.getX(k + 2) - ring.getX(k + 1), ring.getY(k + 2) - ring.getY(k + 1));
+            if (turn != 0) {
+                if (orientation != 0 && turn != orientation) {
+                    return false;
+                }
+                orientation = turn;
+            }
+        }
+        return orientation != 0;
+    }
+
+    /**
+     * Computes a term of the shoelace formula. Coordinates are taken relative to the first vertex of the ring to reduce rounding errors.
+     */
+    private double getCrossProduct(int startVertex, int endVertex) {
+        double x0 = ring.getX(0);
+        double y0 = ring.getY(0);
+        return (ring.getX(startVertex) - x0) * (ring.getY(endVertex) - y0) - (ring.getX(endVertex) - x0) * (ring.getY(startVertex) - y0);
+    }
+
+    Polygon getPolygon() {
+        return polygon;
+    }
+
+    double getArea() {
+        return area;
+    }
+
+    /**
+     * @return true if the polygon is convex, in which case every segment connecting two points of its exterior ring lies inside the polygon
+     */
+    boolean isConvex() {
+        return convex;
+    }
+
+    /**
+     * @return vertices of the exterior ring, vertex i is the start of segment i
+     */
+    PackedRing getRing() {
+        return ring;
+    }
+
+    /**
+     * @return segments of the exterior ring, segment i goes from vertex i to vertex i + 1
+     */
+    List<LineSegment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * @return number of segments (and also distinct vertices) of the exterior ring
+     */
+    int getSegmentCount() {
+        return ring.getVertexCount();
+    }
+
+    /**
+     * @return metrics of the search to record the evaluation of edge pairs into, or null if the search is not measured
+     */
+    SearchMetrics getSearchMetrics() {
+        return searchMetrics;
+    }
+
+    /**
+     * @return id of the segment given by {@link EdgePairCache#identifyEdges(List)}
+     */
+    int getEdgeId(int segment) {
+        return edgeIds[segment];
+    }
+
+    /**
+     * @param indexOfEdgeA index of edgeA in {@link #getSegments()}
+     * @param indexOfEdgeB index of edgeB in {@link #getSegments()}
+     * @return subpolygons of the edge pair, taken from the {@link EdgePairCache} if there is one
+     */
+    EdgePairSubpolygons getSubpolygons(int indexOfEdgeA, int indexOfEdgeB) {
+        return edgePairCache != null
+                ? edgePairCache.getSubpolygons(this, indexOfEdgeA, indexOfEdgeB)
+                : new EdgePair(this, indexOfEdgeA, indexOfEdgeB).getSubpolygons();
+    }
+
+    /**
+     * Computes the area of a polygon made of the exterior ring vertices from start vertex to end vertex, closed by a line from end vertex to
+     * start vertex. Runs in constant time.
+     *
+     * @param startVertex index of vertex in the exterior ring where to start
+     * @param endVertex index of vertex in the exterior ring where to end, traversing the ring from the start vertex (wrapping around if needed)
+     * @return area of the polygon
+     */
+    double getSubpolygonArea(int startVertex, int endVertex) {
+        return Math.abs(getDoubledSignedSubpolygonArea(startVertex, endVertex)) / 2;
+    }
+
+    /**
+     * Same as {@link Polygon#contains(Geometry)} for a piece bounded by two segments of the exterior ring, such as the subpolygons of an
+     * {@link EdgePair}, but without the full topological comparison which {@link PreparedGeometry} falls back to whenever the boundaries touch
+     * (which is always the case for such pieces).<br>
+     * Sides of the piece lying on the given segments (or on the ones following them) are on the boundary of the polygon. Any other side which
+     * does not cross the exterior ring lies either inside or outside of the polygon as a whole, which is told by its midpoint. The polygon has
+     * no holes, thus if all the sides of the piece lie inside, so does the piece.
+     *
+     * @param vertices closed ring of the piece, whose vertices lie on the exterior ring
+     * @param edgeA index of a segment of the exterior ring
+     * @param edgeB index of another segment of the exterior ring
+     */
+    boolean containsPiece(Coordinate[] vertices, int edgeA, int edgeB) {
+        for (int k = 0; k < vertices.length - 1; k++) {
+            if (isOnSegments(vertices[k], vertices[k + 1], edgeA) || isOnSegments(vertices[k], vertices[k + 1], edgeB)) {
+                continue;
+            }
+            LineSegment side = new LineSegment(vertices[k], vertices[k + 1]);
+            if (ringCrossingIndex.isIntersecting(side) || !getPreparedPolygon().intersects(GeometryFactoryUtils.createPoint(side.midPoint()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private PreparedGeometry getPreparedPolygon() {
+        if (preparedPolygon == null) {
+            preparedPolygon = PreparedGeometryFactory.prepare(polygon);
+        }
+        return preparedPolygon;
+    }
+
+    /**
+     * Checks if the line lies on the given segment or on the one following it (which connects the edges when there is just one segment between
+     * them)
+     */
+    private boolean isOnSegments(Coordinate start, Coordinate end, int segment) {
+        return isOnSegment(start, end, segments.get(segment)) || isOnSegment(start, end, segments.get((segment + 1) % segments.size()));
+    }
+
+    private static boolean isOnSegment(Coordinate start, Coordinate end, LineSegment segment) {
+        return GeometryUtils.isPointOnLineSegment(start, segment) && GeometryUtils.isPointOnLineSegment(end, segment);
+    }
+
+    /**
+     * Checks if the polygon whose area is given by {@link #getSubpolygonArea(int, int)} lies inside this polygon without building it.<br>
+     * The subpolygon is bounded by a chain of the exterior ring and by the closing line. If the closing line does not cross the ring, the
+     * subpolygon is either a part of this polygon or a pocket outside of it. Only in the former case the chain goes around the subpolygon in the
+     * same direction as the exterior ring goes around this polygon, thus the signs of their areas are compared. This takes a query of the
+     * {@link RingCrossingIndex} instead of a {@link Polygon#contains(Geometry)} check, which is linear in the number of vertices.
+     */
+    boolean containsSubpolygon(int startVertex, int endVertex) {
+        double doubledSignedArea = getDoubledSignedSubpolygonArea(startVertex, endVertex);
+        if (doubledSignedArea == 0 || (doubledSignedArea > 0) != (crossProductSums[getSegmentCount()] > 0)) {
+            return false;
+        }
+        return !ringCrossingIndex.isIntersecting(new LineSegment(ring.getX(endVertex), ring.getY(endVertex), ring.getX(startVertex), ring.getY(startVertex)));
+    }
+
+    private double getDoubledSignedSubpolygonArea(int startVertex, int endVertex) {
+        return getChainCrossProductSum(startVertex, endVertex) + getCrossProduct(endVertex, startVertex);          // closing line
+    }
+
+    /**
+     * @return sum of shoelace formula terms for the segments going from start vertex to end vertex
+     */
+    private double getChainCrossProductSum(int startVertex, int endVertex) {
+        int segmentCount = getSegmentCount();
+        return startVertex <= endVertex
+                ? crossProductSums[endVertex] - crossProductSums[startVertex]
+                : crossProductSums[segmentCount] - crossProductSums[startVertex] + crossProductSums[endVertex];
+    }
+
+    /**
+     * Computes the area of the polygon built by {@link #slice(Coordinate, int, Coordinate, int)} without building it. Runs in constant time.
+     */
+    double getSliceArea(Coordinate startPoint, int startSegment, Coordinate endPoint, int endSegment) {
+        int firstVertex = (startSegment + 1) % getSegmentCount();
+        double x0 = ring.getX(0);
+        double y0 = ring.getY(0);
+        double startX = startPoint.x - x0;
+        double startY = startPoint.y - y0;
+        double endX = endPoint.x - x0;
+        double endY = endPoint.y - y0;
+        double doubledSignedArea = (startX * (ring.getY(firstVertex) - y0) - (ring.getX(firstVertex) - x0) * startY)
+                + getChainCrossProductSum(firstVertex, endSegment)
+                + ((ring.getX(endSegment) - x0) * endY - endX * (ring.getY(endSegment) - y0))
+                + (endX * startY - startX * endY);
+        return Math.abs(doubledSignedArea) / 2;
+    }
+
+    /**
+     * Builds a polygon starting at start point, going along the exterior ring until end point is reached and then connecting it to start point.
+     * <br>
+     * The difference from {@link GeometryFactoryUtils#slicePolygon(Polygon, Coordinate, Coordinate)} is that the segments containing the points
+     * are already known, thus the ring is spliced in linear time without testing which segment each point lies on.
+     *
+     * @param startPoint a point on the start segment where to start
+     * @param startSegment index of segment containing the start point
+     * @param endPoint a point on the end segment where to end
+     * @param endSegment index of segment containing the end point, must be different from start segment
+     * @return the sliced polygon, oriented the same way as the original one
+     * @see PackedRing#slice(Coordinate, int, Coordinate, int)
+     */
+    Polygon slice(Coordinate startPoint, int startSegment, Coordinate endPoint, int endSegment) {
+        return ring.slice(startPoint, startSegment, endPoint, endSegment);
+    }
+
+    /**
+     * Checks if the line crosses the exterior ring of the polygon
+     *
+     * @see RingCrossingIndex#isIntersecting(LineSegment)
+     */
+    boolean isIntersecting(LineSegment line) {
+        return ringCrossingIndex.isIntersecting(line);
+    }
+}
@@ -0,0 +1,143 @@
+package de.incentergy.geometry.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.PolygonSplitter;
+import de.incentergy.geometry.impl.ValidationPolicy.Level;
+
+/**
+ * {@link PolygonSplitter} implementation which cuts the polygon in two pieces having areas of k/n and (n-k)/n (where k = n/2) and splits both
+ * of them recursively, until pieces of a single part are left.<br>
+ * Each cut is the shortest line cutting away the required area, found in the same way as in {@link GreedyPolygonSplitter}. The pieces are split
+ * in parallel, thus the recursion depth is logarithmic and each search runs over a piece whose size is halved on every level.
+ * <p>
+ * The parts are generally not the same as produced by {@link GreedyPolygonSplitter}, as the greedy approach always cuts away a single part.
+ */
+public class RecursiveBisectionPolygonSplitter implements PolygonSplitter {
+
+    private final ForkJoinPool pool;
+    private final ValidationPolicy validationPolicy;
+    private final ShortestCutSearch shortestCutSearch = new ShortestCutSearch(null, GreedyPolygonSplitter.DEFAULT_PARALLELISM_THRESHOLD);
+
+    /**
+     * Creates a splitter which splits the pieces on the {@link ForkJoinPool#commonPool() common fork-join pool} and performs
+     * {@link ValidationPolicy#FULL all the sanity checks}
+     */
+    public RecursiveBisectionPolygonSplitter() {
+        this(ForkJoinPool.commonPool(), ValidationPolicy.FULL);
+    }
+
+    /**
+     * Creates a splitter which splits the pieces using the provided pool
+     */
+    public RecursiveBisectionPolygonSplitter(ForkJoinPool pool) {
+        this(Objects.requireNonNull(pool, "Pool is required"), ValidationPolicy.FULL);
+    }
+
+    private RecursiveBisectionPolygonSplitter(ForkJoinPool pool, ValidationPolicy validationPolicy) {
+        this.pool = pool;
+        this.validationPolicy = validationPolicy;
+    }
+
+    /**
+     * Returns a splitter which performs the sanity checks determined by the provided policy
+     *
+     * @param validationPolicy policy determining which checks to perform
+     */
+    public RecursiveBisectionPolygonSplitter withValidationPolicy(ValidationPolicy validationPolicy) {
+        return new RecursiveBisectionPolygonSplitter(pool, Objects.requireNonNull(validationPolicy, "Validation policy is required"));
+    }
+
+    @Override
+    public List<Polygon> split(Polygon originalPolygon, int numberOfParts) {
+        Object splitEvent = FlightRecorderEvents.beginSplit();
+        try {
+            Level validationLevel = validationPolicy.nextLevel();
+            SanityChecks.validate(originalPolygon, numberOfParts, validationLevel);
+
+            double singlePartArea = originalPolygon.getArea() / numberOfParts;
+            Collection<LineSegment> linesOfCut = validationLevel.compareTo(Level.TOPOLOGY) >= 0 ? new ConcurrentLinkedQueue<>() : null;
+            List<Polygon> polygonParts = pool.invoke(new BisectionTask(originalPolygon, numberOfParts, singlePartArea, linesOfCut));
+
+            if (validationLevel.compareTo(Level.AREA_ONLY) >= 0) {
+                // sanity check: total area is the same
+                SanityChecks.checkArea(polygonParts.stream().mapToDouble(Polygon::getArea).sum(), originalPolygon.getArea());
+            }
+            if (linesOfCut != null) {
+                // sanity check: parts are adjacent along the lines of cut
+                SanityChecks.checkLinesOfCut(linesOfCut, polygonParts);
+            }
+            if (validationLevel == Level.FULL) {
+                // sanity check: geometry is the same
+                SanityChecks.checkUnion(polygonParts, originalPolygon);
+            }
+
+            return Collections.unmodifiableList(polygonParts);
+        } finally {
+            // failed splits are recorded as well
+            FlightRecorderEvents.endSplit(splitEvent, originalPolygon == null ? 0 : originalPolygon.getNumPoints(), numberOfParts);
+        }
+    }
+
+    /**
+     * Splits a piece of the polygon into the given number of parts. The parts of the cut away piece come first.
+     */
+    private class BisectionTask extends RecursiveTask<List<Polygon>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Polygon polygon;
+        private final int numberOfParts;
+        private final double singlePartArea;
+        private final Collection<LineSegment> linesOfCut;       // null if they are not going to be checked
+
+        private BisectionTask(Polygon polygon, int numberOfParts, double singlePartArea, Collection<LineSegment> linesOfCut) {
+            this.polygon = polygon;
+            this.numberOfParts = numberOfParts;
+            this.singlePartArea = singlePartArea;
+            this.linesOfCut = linesOfCut;
+        }
+
+        @Override
+        protected List<Polygon> compute() {
+            if (numberOfParts == 1) {
+                List<Polygon> parts = new ArrayList<>(1);
+                parts.add(polygon);
+                return parts;
+            }
+
+            int partsToCutAway = numberOfParts / 2;
+            Cut shortestCut;
+            try {
+                shortestCut = shortestCutSearch.getShortestCut(polygon, partsToCutAway * singlePartArea);
+            } catch (NoSuchElementException e) {
+                if (partsToCutAway == numberOfParts - partsToCutAway) {
+                    throw e;
+                }
+                // the larger piece may still be cut away, in which case the smaller one is the remainder
+                partsToCutAway = numberOfParts - partsToCutAway;
+                shortestCut = shortestCutSearch.getShortestCut(polygon, partsToCutAway * singlePartArea);
+            }
+            if (linesOfCut != null) {
+                linesOfCut.add(shortestCut.getLineOfCut());
+            }
+
+            BisectionTask cutAwayTask = new BisectionTask(shortestCut.getCutAway(), partsToCutAway, singlePartArea, linesOfCut);
+            BisectionTask remainderTask = new BisectionTask(shortestCut.getRemainder(), numberOfParts - partsToCutAway, singlePartArea, linesOfCut);
+            remainderTask.fork();
+            List<Polygon> parts = cutAwayTask.compute();
+            parts.addAll(remainderTask.join());
+            return parts;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package de.incentergy.geometry.impl;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.geom.TopologyException;
+import com.vividsolutions.jts.geom.prep.PreparedGeometry;
+import com.vividsolutions.jts.geom.prep.PreparedGeometryFactory;
+import com.vividsolutions.jts.operation.overlay.snap.SnapOverlayOp;
+
+import de.incentergy.geometry.impl.ValidationPolicy.Level;
+import de.incentergy.geometry.utils.GeometryUtils;
+
+/**
+ * Checks of the input and of the resulting parts shared by the splitters.
+ *
+ * @see ValidationPolicy
+ */
+final class SanityChecks {
+
+    static final double AREA_TOLERANCE = 1e-9;          // relative to the area of the original polygon
+    static final double DISTANCE_TOLERANCE = 1e-9;      // relative to the size of the envelope of the original polygon
+
+    private SanityChecks() {
+    }
+
+    static void validate(Polygon originalPolygon, int numberOfParts, Level validationLevel) {
+        if (validationLevel.compareTo(Level.TOPOLOGY) >= 0 && !originalPolygon.isValid()) {
+            throw new IllegalArgumentException("Polygon is not valid!");
+        }
+        if (numberOfParts < 2) {
+            throw new IllegalArgumentException("Number of parts should be greater than 1!");
+        }
+        // TODO: add validation - at least 4 sides, no holes
+    }
+
+    static void checkArea(double totalAreaOfTheParts, double originalArea) {
+        if (!(Math.abs(totalAreaOfTheParts - originalArea) <= AREA_TOLERANCE * originalArea)) {
+            throw failed("Area of the parts does not match original area");
+        }
+    }
+
+    static void checkLinesOfCut(Collection<LineSegment> linesOfCut, List<Polygon> parts) {
+        for (LineSegment lineOfCut : linesOfCut) {
+            checkLineOfCut(lineOfCut, parts);
+        }
+    }
+
+    /**
+     * Checks that the line of cut is covered exactly once by the edges of parts lying on each side of it.<br>
+     * The parts are oriented the same way as the original polygon, thus the edges on one side of the line of cut go in the opposite direction than
+     * the ones on the other side. Edges of parts cut away later may cover just a section of the line of cut, thus lengths of edges are summed up.
+     */
+    private static void checkLineOfCut(LineSegment lineOfCut, List<Polygon> parts) {
+        double length = lineOfCut.getLength();
+        double dx = (lineOfCut.p1.x - lineOfCut.p0.x) / length;
+        double dy = (lineOfCut.p1.y - lineOfCut.p0.y) / length;
+
+        double coveredForward = 0;
+        double coveredBackward = 0;
+        for (Polygon part : parts) {
+            Coordinate[] ring = part.getExteriorRing().getCoordinates();
+            for (int k = 0; k < ring.length - 1; k++) {
+                if (GeometryUtils.isPointOnLineSegment(ring[k], lineOfCut) && GeometryUtils.isPointOnLineSegment(ring[k + 1], lineOfCut)) {
+                    double coveredLength = (ring[k + 1].x - ring[k].x) * dx + (ring[k + 1].y - ring[k].y) * dy;
+                    if (coveredLength > 0) {
+                        coveredForward += coveredLength;
+                    } else {
+                        coveredBackward -= coveredLength;
+                    }
+                }
+            }
+        }
+
+        if (!GeometryUtils.equalWithinDelta(coveredForward / length, 1) || !GeometryUtils.equalWithinDelta(coveredBackward / length, 1)) {
+            throw failed("Line of cut " + lineOfCut + " is not shared by the parts on both of its sides");
+        }
+    }
+
+    /**
+     * Checks that the parts make up the original polygon, i.e. their total area is equal to the area of the polygon, each of them is covered by
+     * the polygon and they do not overlap. Areas and distances are compared relative to the size of the polygon, as the rounding errors of the
+     * overlay operations grow with the magnitude of coordinates.<br>
+     * The union of the parts is not compared to the polygon, as JTS does not compute it robustly: parts separated by slivers thinner than the
+     * rounding error of the points of cut make the overlay fail or report a symmetric difference of a sizable area. For the same reason, the
+     * parts are checked against the polygon grown by the distance tolerance and are snapped to each other before their intersection is computed.
+     */
+    static void checkUnion(List<Polygon> parts, Polygon originalPolygon) {
+        double originalArea = originalPolygon.getArea();
+        double totalArea = 0;
+        for (Polygon part : parts) {
+            totalArea += part.getArea();
+        }
+        if (!(Math.abs(totalArea - originalArea) <= AREA_TOLERANCE * originalArea)) {
+            throw failed("The sum of the parts is not equal to the original polygon");
+        }
+
+        Envelope envelope = originalPolygon.getEnvelopeInternal();
+        double distanceTolerance = DISTANCE_TOLERANCE * Math.max(envelope.getWidth(), envelope.getHeight());
+        checkCoverage(parts, originalPolygon, distanceTolerance);
+
+        double overlapArea = 0;
+        for (int i = 0; i < parts.size(); i++) {
+            for (int j = i + 1; j < parts.size(); j++) {
+                if (parts.get(i).getEnvelopeInternal().intersects(parts.get(j).getEnvelopeInternal())) {
+                    overlapArea += getOverlapArea(parts.get(i), parts.get(j), distanceTolerance);
+                }
+            }
+        }
+        if (!(overlapArea <= AREA_TOLERANCE * originalArea)) {
+            throw failed("The parts overlap each other");
+        }
+    }
+
+    /**
+     * Checks that each part lies within the original polygon, thus parts sticking out of the polygon by the same area as they leave uncovered
+     * elsewhere are detected.
+     */
+    private static void checkCoverage(List<Polygon> parts, Polygon originalPolygon, double distanceTolerance) {
+        try {
+            PreparedGeometry coveringPolygon = PreparedGeometryFactory.prepare(originalPolygon.buffer(distanceTolerance));
+            for (Polygon part : parts) {
+                if (!coveringPolygon.covers(part)) {
+                    throw failed("Part " + part + " is not covered by the original polygon");
+                }
+            }
+        } catch (TopologyException e) {
+            throw failed("Coverage of the parts could not be checked: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the area of the intersection of the parts.<br>
+     * The overlay of parts sharing a line of cut may fail, in that case the parts shrunk by the distance tolerance are checked not to intersect.
+     */
+    private static double getOverlapArea(Polygon part1, Polygon part2, double distanceTolerance) {
+        try {
+            return SnapOverlayOp.intersection(part1, part2).getArea();
+        } catch (TopologyException e) {
+            try {
+                if (part1.buffer(-distanceTolerance).intersects(part2.buffer(-distanceTolerance))) {
+                    throw failed("The parts overlap each other");
+                }
+                return 0;
+            } catch (TopologyException e2) {
+                throw failed("Overlap of the parts could not be computed: " + e2.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Records the failure as a JDK Flight Recorder event
+     *
+     * @return exception to throw
+     */
+    private static IllegalStateException failed(String message) {
+        FlightRecorderEvents.sanityCheckFailed(message);
+        return new IllegalStateException(message);
+    }
+}
@@ -0,0 +1,45 @@
+package de.incentergy.geometry.impl;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.incentergy.geometry.SplitListener.IterationMetrics;
+import de.incentergy.geometry.SplitListener.Rejection;
+
+/**
+ * Counts the edge pairs evaluated during a single search for a cut and the time spent on them.<br>
+ * Only created if the metrics are going to be reported, the search skips the measurements otherwise. Safe to update from multiple threads.
+ */
+final class SearchMetrics {
+
+    private final LongAdder edgePairCount = new LongAdder();
+    private final LongAdder candidateCutCount = new LongAdder();
+    private final LongAdder subpolygonNanos = new LongAdder();
+    private final LongAdder cutNanos = new LongAdder();
+    private final Map<Rejection, LongAdder> rejectedCounts = new EnumMap<>(Rejection.class);
+
+    SearchMetrics() {
+        for (Rejection rejection : Rejection.values()) {
+            rejectedCounts.put(rejection, new LongAdder());
+        }
+    }
+
+    void recordEdgePair(long subpolygonNanos, long cutNanos, int candidateCutCount) {
+        this.edgePairCount.increment();
+        this.subpolygonNanos.add(subpolygonNanos);
+        this.cutNanos.add(cutNanos);
+        this.candidateCutCount.add(candidateCutCount);
+    }
+
+    void recordRejection(Rejection rejection) {
+        rejectedCounts.get(rejection).increment();
+    }
+
+    IterationMetrics toIterationMetrics(int iteration, long searchNanos, long partNanos) {
+        Map<Rejection, Long> rejected = new EnumMap<>(Rejection.class);
+        rejectedCounts.forEach((rejection, count) -> rejected.put(rejection, count.sum()));
+        return new IterationMetrics(iteration, edgePairCount.sum(), rejected, candidateCutCount.sum(), subpolygonNanos.sum(), cutNanos.sum(),
+                searchNanos, partNanos);
+    }
+}
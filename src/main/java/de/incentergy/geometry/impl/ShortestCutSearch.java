@@ -0,0 +1,507 @@
+package de.incentergy.geometry.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.function.IntFunction;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.impl.EdgePair.EdgePairSubpolygons;
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+import de.incentergy.geometry.utils.PackedRing;
+
+/**
+ * Searches all edge pairs of a polygon for the shortest line of cut which cuts away the requested area.<br>
+ * Optionally evaluates the edge pairs of large polygons in parallel. Convex polygons are searched in linear time instead. Polygons with
+ * many vertices may be searched on a simplified ring first, see {@link #getShortestCutBySimplifying(IndexedPolygon, double, Deadline)}. The
+ * search may be bounded by a {@link Deadline}.
+ * Immutable and thus safe to share between threads.
+ */
+final class ShortestCutSearch {
+
+    /**
+     * Number of tasks the rows of edge pairs are split into per worker of the executor, so that a worker left with the shorter rows can take
+     * over the work of another one
+     */
+    private static final int TASKS_PER_WORKER = 2;
+
+    private final Executor executor;                // null if edge pairs are evaluated on the calling thread
+    private final int parallelismThreshold;
+    private final double simplificationTolerance;   // 0 if the full ring is always searched
+
+    /**
+     * @param executor executor to evaluate edge pairs on, or null to evaluate them on the calling thread
+     * @param parallelismThreshold minimum number of exterior ring segments for edge pairs to be evaluated in parallel
+     */
+    ShortestCutSearch(Executor executor, int parallelismThreshold) {
+        this(executor, parallelismThreshold, 0);
+    }
+
+    /**
+     * @param executor executor to evaluate edge pairs on, or null to evaluate them on the calling thread
+     * @param parallelismThreshold minimum number of exterior ring segments for edge pairs to be evaluated in parallel
+     * @param simplificationTolerance distance tolerance used to simplify the exterior ring before searching it, or 0 to search the full ring
+     */
+    ShortestCutSearch(Executor executor, int parallelismThreshold, double simplificationTolerance) {
+        this.executor = executor;
+        this.parallelismThreshold = parallelismThreshold;
+        this.simplificationTolerance = simplificationTolerance;
+    }
+
+    /**
+     * Finds the shortest straight line which cuts away the given area from the polygon
+     *
+     * @param polygon polygon to cut
+     * @param areaToCutAway area of the part being cut away
+     * @return the shortest cut
+     * @throws NoSuchElementException if none of the edge pairs produced a cut
+     */
+    Cut getShortestCut(Polygon polygon, double areaToCutAway) {
+        return getShortestCut(polygon, areaToCutAway, Deadline.NONE);
+    }
+
+    /**
+     * Same as {@link #getShortestCut(Polygon, double)}, but once the deadline has passed, the search stops as soon as any cut has been found
+     * and the shortest cut found so far is returned. Edge pairs are evaluated in ascending order of the distance between the edges, which is
+     * the lower bound of the length of their cuts, thus the most promising pairs are evaluated first.
+     *
+     * @param deadline deadline of the search, recording whether the search was cut short
+     */
+    Cut getShortestCut(Polygon polygon, double areaToCutAway, Deadline deadline) {
+        return getShortestCut(polygon, areaToCutAway, deadline, null, null);
+    }
+
+    /**
+     * Same as {@link #getShortestCut(Polygon, double, Deadline)}, but takes the subpolygons of edge pairs from the cache, if they were built
+     * by a previous search, and records the evaluation of edge pairs into the metrics
+     *
+     * @param edgePairCache cache of subpolygons of edge pairs, or null to build them anew
+     * @param searchMetrics metrics of the search, or null if the search is not measured
+     */
+    Cut getShortestCut(Polygon polygon, double areaToCutAway, Deadline deadline, EdgePairCache edgePairCache, SearchMetrics searchMetrics) {
+        IndexedPolygon indexedPolygon = new IndexedPolygon(polygon, edgePairCache, searchMetrics);
+
+        Cut shortestCut = simplificationTolerance > 0 ? getShortestCutBySimplifying(indexedPolygon, areaToCutAway, deadline) : null;
+        if (shortestCut == null) {
+            shortestCut = getShortestCut(indexedPolygon, areaToCutAway, deadline);
+        }
+        if (shortestCut == null) {
+            throw new NoSuchElementException("No possible cut found");
+        }
+        return shortestCut;
+    }
+
+    /**
+     * @return the shortest cut, or null if none of the edge pairs produced a cut
+     */
+    private Cut getShortestCut(IndexedPolygon indexedPolygon, double areaToCutAway, Deadline deadline) {
+        List<LineSegment> segments = indexedPolygon.getSegments();
+        if (indexedPolygon.isConvex()) {
+            return getShortestCutOfConvexPolygon(indexedPolygon, areaToCutAway, deadline);
+        }
+        return executor != null && segments.size() >= parallelismThreshold
+                ? getShortestCutInParallel(indexedPolygon, segments, areaToCutAway, deadline)
+                : getShortestCut(indexedPolygon, getRowsByDistance(segments, 0, 1), row -> getEdgePairsOfRow(segments, row),
+                        areaToCutAway, new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY), deadline);
+    }
+
+    /**
+     * Searches the polygon in two steps:
+     * <ol>
+     * <li>the exterior ring is simplified and the shortest cut of the simplified polygon is found using all of its edge pairs</li>
+     * <li>the cut is refined on the full ring, evaluating only the edge pairs made of the segments replaced by the edges of that cut and by their
+     * neighbouring edges</li>
+     * </ol>
+     * The cut is always computed on the full ring, thus the area cut away is as precise as without simplification. However, the shortest cut
+     * of the simplified polygon may lie near different edges than the shortest cut of the full one, thus the cut found is not necessarily the
+     * shortest.
+     *
+     * @return the shortest cut near the cut of the simplified polygon, or null if the full ring has to be searched instead
+     */
+    private Cut getShortestCutBySimplifying(IndexedPolygon polygon, double areaToCutAway, Deadline deadline) {
+        PackedRing ring = polygon.getRing();
+        int[] retainedVertices = ring.getSimplifiedVertices(simplificationTolerance);
+        int retainedCount = retainedVertices.length;
+        if (retainedCount < 4 || retainedCount == ring.getVertexCount()) {
+            return null;                                    // nothing to cut or nothing to gain
+        }
+
+        Coordinate[] simplifiedVertices = new Coordinate[retainedCount];
+        for (int k = 0; k < retainedCount; k++) {
+            simplifiedVertices[k] = ring.getCoordinate(retainedVertices[k]);
+        }
+        Polygon simplifiedPolygon = GeometryFactoryUtils.createPolygon(simplifiedVertices);
+        if (!simplifiedPolygon.isValid()) {
+            return null;                                    // simplification made the ring self-intersect
+        }
+        Cut simplifiedCut = getShortestCut(new IndexedPolygon(simplifiedPolygon, null, polygon.getSearchMetrics()), areaToCutAway, deadline);
+        if (simplifiedCut == null) {
+            return null;
+        }
+
+        List<LineSegment> segments = polygon.getSegments();
+        int segmentCount = segments.size();
+        int[] edgesA = getReplacedSegments(retainedVertices, simplifiedCut.getStartSegment(), segmentCount);
+        int[] edgesB = getReplacedSegments(retainedVertices, simplifiedCut.getEndSegment(), segmentCount);
+        long[] edgePairs = new long[edgesA.length * edgesB.length];
+        int pairCount = 0;
+        for (int edgeA : edgesA) {
+            for (int edgeB : edgesB) {
+                int i = Math.min(edgeA, edgeB);
+                int j = Math.max(edgeA, edgeB);
+                if (j - i >= 2 && j - i + 1 < segmentCount) {   // edges are neither the same nor adjacent
+                    edgePairs[pairCount++] = getPosition(i, j);
+                }
+            }
+        }
+        return getShortestCut(polygon, edgePairs, pairCount, areaToCutAway, deadline);
+    }
+
+    /**
+     * Lists the segments of the full ring replaced by the given segment of the simplified ring and by the segments adjacent to it
+     *
+     * @param retainedVertices indexes of vertices of the full ring retained in the simplified ring
+     * @param simplifiedSegment index of segment of the simplified ring
+     * @param segmentCount number of segments of the full ring
+     */
+    private static int[] getReplacedSegments(int[] retainedVertices, int simplifiedSegment, int segmentCount) {
+        int retainedCount = retainedVertices.length;
+        int firstSegment = retainedVertices[(simplifiedSegment - 1 + retainedCount) % retainedCount];
+        int endVertex = retainedVertices[(simplifiedSegment + 2) % retainedCount];
+        int[] segments = new int[(endVertex - firstSegment + segmentCount) % segmentCount];
+        for (int k = 0; k < segments.length; k++) {
+            segments[k] = (firstSegment + k) % segmentCount;
+        }
+        return segments;
+    }
+
+    /**
+     * Evaluates only the edge pairs which can produce a cut of a convex polygon.<br>
+     * Going along the ring from edgeA to edgeB, the cut away area is at least the area bounded by the vertices between the edges and at most
+     * the area bounded by the edges themselves. In a convex polygon both bounds grow as edgeB moves forward and shrink as edgeA moves forward,
+     * thus the edgeB candidates of each edgeA form a range which only moves forward with edgeA. The ranges are found with two pointers going
+     * around the ring once, widened by one pair on each side to allow for rounding of the areas.
+     *
+     * @return the shortest cut, or null if none of the edge pairs produced a cut
+     * @see Cut#isShorterThan(Cut)
+     */
+    private static Cut getShortestCutOfConvexPolygon(IndexedPolygon polygon, double singlePartArea, Deadline deadline) {
+        int segmentCount = polygon.getSegmentCount();
+        long[] edgePairs = new long[4 * segmentCount];
+        int pairCount = 0;
+
+        // edgeB indexes are not wrapped around the ring: edgeB goes from edgeA + 2 to edgeA + segmentCount - 2
+        int first = 2;          // first edgeB which can cut away enough
+        int last = 2;           // last edgeB which does not cut away too much
+        for (int i = 0; i < segmentCount; i++) {
+            int minEdgeB = i + 2;
+            int maxEdgeB = i + segmentCount - 2;
+            first = Math.max(first, minEdgeB);
+            while (first < maxEdgeB && polygon.getSubpolygonArea(i, (first + 1) % segmentCount) < singlePartArea) {
+                first++;
+            }
+            last = Math.max(last, first);
+            while (last < maxEdgeB && polygon.getSubpolygonArea((i + 1) % segmentCount, (last + 1) % segmentCount) <= singlePartArea) {
+                last++;
+            }
+
+            for (int j = Math.max(first - 1, minEdgeB); j <= Math.min(last + 1, maxEdgeB); j++) {
+                if (pairCount == edgePairs.length) {
+                    edgePairs = Arrays.copyOf(edgePairs, pairCount * 2);
+                }
+                int edgeB = j % segmentCount;
+                edgePairs[pairCount++] = getPosition(Math.min(i, edgeB), Math.max(i, edgeB));
+            }
+        }
+        return getShortestCut(polygon, edgePairs, pairCount, singlePartArea, deadline);
+    }
+
+    /**
+     * Splits the rows of edge pairs (i.e. pairs sharing the same edgeA) among a few tasks per worker of the executor and picks the shortest cut
+     * among the tasks. Rows are interleaved, as the rows of lower edgeA indexes have more pairs. Each task prepares its own copy of the polygon,
+     * thus the polygon is prepared once per task rather than once per row.<br>
+     * The length of the shortest cut found so far is shared by the tasks, so that each of them can prune the pairs which cannot produce a
+     * shorter cut.
+     */
+    private Cut getShortestCutInParallel(IndexedPolygon polygon, List<LineSegment> segments, double singlePartArea, Deadline deadline) {
+        int workerCount = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism() : Runtime.getRuntime().availableProcessors();
+        int taskCount = Math.min(segments.size() - 2, TASKS_PER_WORKER * workerCount);
+        DoubleAccumulator shortestLength = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+        List<CompletableFuture<Cut>> tasks = new ArrayList<>(taskCount);
+        for (int k = 0; k < taskCount; k++) {
+            int firstRow = k;
+            tasks.add(CompletableFuture.supplyAsync(() -> getShortestCut(polygon, getRowsByDistance(segments, firstRow, taskCount),
+                    edgeA -> getEdgePairsOfRow(segments, edgeA), singlePartArea, shortestLength, deadline), executor));
+        }
+
+        Cut shortestCut = null;
+        for (CompletableFuture<Cut> task : tasks) {
+            Cut cut = join(task);
+            if (cut != null && (shortestCut == null || cut.isShorterThan(shortestCut))) {
+                shortestCut = cut;
+            }
+        }
+        return shortestCut;
+    }
+
+    private static Cut join(CompletableFuture<Cut> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();          // rethrow as if the evaluation happened on the calling thread
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Evaluates the given edge pairs, which are few compared to all the edge pairs of the polygon
+     *
+     * @param positions positions of edge pairs encoded by {@link #getPosition(int, int)}, possibly repeated
+     * @param pairCount number of positions to take
+     * @return the shortest cut, or null if none of the edge pairs produced a cut
+     */
+    private static Cut getShortestCut(IndexedPolygon polygon, long[] positions, int pairCount, double singlePartArea, Deadline deadline) {
+        List<LineSegment> segments = polygon.getSegments();
+        // both directions of a pair are evaluated at once, thus each pair is needed only once
+        long[] sortedPositions = Arrays.stream(positions, 0, pairCount).sorted().distinct().toArray();
+
+        // consecutive positions of the same edgeA make up a row
+        long[][] edgePairsOfRows = new long[segments.size()][];
+        long[] rowsByDistance = new long[sortedPositions.length];
+        int rowCount = 0;
+        int start = 0;
+        while (start < sortedPositions.length) {
+            int i = (int) (sortedPositions[start] >>> 32);
+            int end = start + 1;
+            while (end < sortedPositions.length && (int) (sortedPositions[end] >>> 32) == i) {
+                end++;
+            }
+            long[] edgePairs = new long[end - start];
+            for (int k = start; k < end; k++) {
+                edgePairs[k - start] = getEdgePair(segments, i, (int) sortedPositions[k]);
+            }
+            Arrays.sort(edgePairs);
+            edgePairsOfRows[i] = edgePairs;
+            rowsByDistance[rowCount++] = encode(getDistance(edgePairs[0]), i);
+            start = end;
+        }
+        Arrays.sort(rowsByDistance, 0, rowCount);
+        return getShortestCut(polygon, Arrays.copyOf(rowsByDistance, rowCount), row -> edgePairsOfRows[row], singlePartArea,
+                new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY), deadline);
+    }
+
+    /**
+     * Evaluates edge pairs in ascending order of the distance between the edges, stopping as soon as the distance exceeds the length of the
+     * shortest cut found so far. Once the deadline has passed, stops as soon as any cut has been found (possibly by other tasks).
+     * <p>
+     * Rows of edge pairs (i.e. pairs sharing the same edgeA) are listed upfront together with the distance of their closest pair, but the pairs
+     * of a row are listed and sorted only when that distance is reached, and only the pairs which may still produce a shorter cut are kept.
+     * The sorted rows are then merged through a heap. Thus memory is not taken by the pairs which are pruned without being evaluated.
+     *
+     * @param rowsByDistance rows encoded by {@link #encode(double, int)} with the distance of their closest pair (or a lower bound of it) and the
+     *            index of edgeA, sorted in ascending order
+     * @param edgePairsOfRow function listing the edge pairs of a row, encoded by {@link #getEdgePair(List, int, int)}
+     * @param shortestLength length of the shortest cut found so far, possibly by other tasks
+     * @return the shortest cut, or null if none of the edge pairs produced a cut
+     * @see Cut#isShorterThan(Cut)
+     */
+    private static Cut getShortestCut(IndexedPolygon sharedPolygon, long[] rowsByDistance, IntFunction<long[]> edgePairsOfRow, double singlePartArea,
+            DoubleAccumulator shortestLength, Deadline deadline) {
+        IndexedPolygon polygon = sharedPolygon.forSearchTask();
+        SearchMetrics searchMetrics = polygon.getSearchMetrics();
+        PriorityQueue<Row> rows = new PriorityQueue<>();
+        int rowsListed = 0;
+
+        Cut shortestCut = null;
+        while (true) {
+            // list the rows whose pairs may come next
+            while (rowsListed < rowsByDistance.length && getDistance(rowsByDistance[rowsListed]) <= shortestLength.get()
+                    && (rows.isEmpty() || getDistance(rowsByDistance[rowsListed]) <= getDistance(rows.peek().getEdgePair()))) {
+                int i = (int) rowsByDistance[rowsListed++];
+                long[] edgePairs = getEdgePairsWithin(edgePairsOfRow.apply(i), shortestLength.get());
+                if (edgePairs.length > 0) {
+                    rows.add(new Row(i, edgePairs));
+                }
+            }
+
+            Row row = rows.poll();
+            if (row == null || !isWorthEvaluating(getDistance(row.getEdgePair()), shortestLength, deadline)) {
+                break;                                      // neither this nor any of the remaining pairs can produce a shorter cut
+            }
+            int i = row.edgeA;
+            int j = (int) row.getEdgePair();
+            if (row.advance()) {
+                rows.add(row);
+            }
+
+            List<Cut> cuts;
+            if (searchMetrics == null) {
+                cuts = polygon.getSubpolygons(i, j).getCuts(polygon, i, j, singlePartArea);
+            } else {
+                long start = System.nanoTime();
+                EdgePairSubpolygons subpolygons = polygon.getSubpolygons(i, j);
+                long built = System.nanoTime();
+                cuts = subpolygons.getCuts(polygon, i, j, singlePartArea);
+                searchMetrics.recordEdgePair(built - start, System.nanoTime() - built, cuts.size());
+            }
+            for (Cut cut : cuts) {
+                if (shortestCut == null || cut.isShorterThan(shortestCut)) {
+                    shortestCut = cut;
+                    shortestLength.accumulate(cut.getLength());
+                }
+            }
+        }
+        return shortestCut;
+    }
+
+    /**
+     * @param edgePairs edge pairs sorted in ascending order
+     * @return the edge pairs whose distance does not exceed the given one
+     */
+    private static long[] getEdgePairsWithin(long[] edgePairs, double maxDistance) {
+        int count = 0;
+        while (count < edgePairs.length && getDistance(edgePairs[count]) <= maxDistance) {
+            count++;
+        }
+        return count == edgePairs.length ? edgePairs : Arrays.copyOf(edgePairs, count);
+    }
+
+    /**
+     * @param distance lower bound of the length of the cuts still to evaluate
+     * @return false if none of the cuts can be shorter than the shortest cut found so far, or if the deadline has passed and any cut has been
+     *         found (settling for it)
+     */
+    private static boolean isWorthEvaluating(float distance, DoubleAccumulator shortestLength, Deadline deadline) {
+        double shortestLengthSoFar = shortestLength.get();
+        if (distance > shortestLengthSoFar) {
+            return false;
+        }
+        if (shortestLengthSoFar < Double.POSITIVE_INFINITY && deadline.hasPassed()) {
+            deadline.recordCutShort();                      // settle for the shortest cut found so far
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Lists rows of edge pairs where edgeA index is firstRow, firstRow + stride, firstRow + 2 * stride and so on, encoded with the distance
+     * between the closest edges of each row and sorted by it. Takes the distance of every edge pair, but keeps only one number per row.
+     */
+    private static long[] getRowsByDistance(List<LineSegment> segments, int firstRow, int stride) {
+        int rowCount = segments.size() - 2;
+        long[] rows = new long[(rowCount - firstRow + stride - 1) / stride];
+        for (int k = 0; k < rows.length; k++) {
+            int i = firstRow + k * stride;
+            LineSegment edgeA = segments.get(i);
+            double distance = Double.POSITIVE_INFINITY;
+            for (int j = i + 2; j <= getLastEdgeB(segments.size(), i); j++) {
+                distance = Math.min(distance, edgeA.distance(segments.get(j)));
+            }
+            rows[k] = encode(distance, i);
+        }
+        Arrays.sort(rows);
+        return rows;
+    }
+
+    /**
+     * Lists unique edge pairs (e.g. 2 pairs for any rectangle) where edgeA is the given one, sorted by the distance between the edges
+     */
+    private static long[] getEdgePairsOfRow(List<LineSegment> segments, int i) {
+        long[] edgePairs = new long[Math.max(0, getLastEdgeB(segments.size(), i) - i - 1)];
+        for (int k = 0; k < edgePairs.length; k++) {
+            edgePairs[k] = getEdgePair(segments, i, i + 2 + k);
+        }
+        Arrays.sort(edgePairs);
+        return edgePairs;
+    }
+
+    /**
+     * @return index of the last edgeB paired with edgeA, so that the edges are not adjacent (the LineRing starting with edgeA and ending with
+     *         edgeB does not cover all the segments)
+     */
+    private static int getLastEdgeB(int segmentCount, int i) {
+        return i == 0 ? segmentCount - 2 : segmentCount - 1;
+    }
+
+    /**
+     * Encodes an edge pair of a row into a single long by {@link #encode(double, int)}, with the distance between the edges and the index of
+     * edgeB. This keeps the sorting free of objects.
+     */
+    private static long getEdgePair(List<LineSegment> segments, int i, int j) {
+        return encode(segments.get(i).distance(segments.get(j)), j);
+    }
+
+    /**
+     * @return position of an edge pair in a single long, sorting the pairs by edgeA and then by edgeB
+     */
+    private static long getPosition(int i, int j) {
+        return (long) i << 32 | j;
+    }
+
+    /**
+     * Encodes a distance and a non-negative index into a single long: the distance rounded down to a float in the upper 32 bits (bits of
+     * non-negative floats sort in the same order as their values) and the index in the lower 32 bits
+     */
+    private static long encode(double distance, int index) {
+        float roundedDownDistance = (float) distance;
+        if (roundedDownDistance > distance) {
+            roundedDownDistance = Math.nextDown(roundedDownDistance);
+        }
+        return (long) Float.floatToIntBits(roundedDownDistance) << 32 | index;
+    }
+
+    private static float getDistance(long encoded) {
+        return Float.intBitsToFloat((int) (encoded >>> 32));
+    }
+
+    /**
+     * Edge pairs of a row which are left to evaluate, ordered in a heap by the next one of them
+     */
+    private static final class Row implements Comparable<Row> {
+        private final int edgeA;
+        private final long[] edgePairs;                 // encoded by getEdgePair(), sorted in ascending order
+        private int next;
+
+        private Row(int edgeA, long[] edgePairs) {
+            this.edgeA = edgeA;
+            this.edgePairs = edgePairs;
+        }
+
+        long getEdgePair() {
+            return edgePairs[next];
+        }
+
+        /**
+         * @return true if there are edge pairs left
+         */
+        boolean advance() {
+            return ++next < edgePairs.length;
+        }
+
+        /**
+         * Orders by the distance of the next edge pair, then by the indexes of its edges
+         */
+        @Override
+        public int compareTo(Row other) {
+            long edgePair = getEdgePair();
+            long otherEdgePair = other.getEdgePair();
+            int order = Float.compare(getDistance(edgePair), getDistance(otherEdgePair));
+            if (order == 0) {
+                order = Integer.compare(edgeA, other.edgeA);
+            }
+            return order != 0 ? order : Integer.compare((int) edgePair, (int) otherEdgePair);
+        }
+    }
+}
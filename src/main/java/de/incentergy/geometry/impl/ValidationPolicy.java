@@ -0,0 +1,92 @@
+package de.incentergy.geometry.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.vividsolutions.jts.geom.Polygon;
+
+/**
+ * Determines which sanity checks a splitter ({@link GreedyPolygonSplitter} or {@link RecursiveBisectionPolygonSplitter}) performs on the polygon
+ * being split and on the resulting parts.<br>
+ * The level of checks is determined once per call to split a polygon and applies to all of its parts. In particular, the bisections of
+ * {@link RecursiveBisectionPolygonSplitter} are not counted as separate calls, thus a {@link #sampled(int) sampled} policy checks every
+ * part of one in N polygons fully.<br>
+ * Checks are listed from the cheapest to the most expensive:
+ * <ul>
+ * <li>Area - the total area of the parts is equal to the area of the polygon. Runs in linear time.</li>
+ * <li>Validity - {@link Polygon#isValid()} is called on the polygon before splitting. Runs in O(n log n).</li>
+ * <li>Topology - each line of cut is shared by the parts on both of its sides, i.e. is covered exactly once by the parts on each side. Does
+ * not involve any overlay operations.</li>
+ * <li>Union - the parts make up the polygon, i.e. each of them is covered by the polygon and they do not overlap each other. This is a
+ * buffer of the polygon and an overlay operation on each pair of parts whose envelopes intersect, which often takes longer than the splitting
+ * itself.</li>
+ * </ul>
+ */
+public final class ValidationPolicy {
+
+    /**
+     * Performs no checks at all
+     */
+    public static final ValidationPolicy NONE = new ValidationPolicy(Level.NONE, Level.NONE, 1);
+
+    /**
+     * Only checks the area of the parts
+     */
+    public static final ValidationPolicy AREA_ONLY = new ValidationPolicy(Level.AREA_ONLY, Level.AREA_ONLY, 1);
+
+    /**
+     * Checks the validity of the polygon, the area of the parts and the lines of cut, but does not compute the overlaps of the parts
+     */
+    public static final ValidationPolicy TOPOLOGY = new ValidationPolicy(Level.TOPOLOGY, Level.TOPOLOGY, 1);
+
+    /**
+     * Performs all the checks
+     */
+    public static final ValidationPolicy FULL = new ValidationPolicy(Level.FULL, Level.FULL, 1);
+
+    /**
+     * Levels of checks, each one including the checks of the previous levels
+     */
+    enum Level {
+        NONE, AREA_ONLY, TOPOLOGY, FULL
+    }
+
+    private final Level sampledLevel;            // level used for one in sampleRate calls
+    private final Level defaultLevel;            // level used for the rest of the calls
+    private final int sampleRate;
+    private final AtomicLong callCount = new AtomicLong();
+
+    private ValidationPolicy(Level sampledLevel, Level defaultLevel, int sampleRate) {
+        this.sampledLevel = sampledLevel;
+        this.defaultLevel = defaultLevel;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Creates a policy which performs all the checks on one in sampleRate calls (starting with the first one) and only checks the area of the parts
+     * on the rest of the calls.<br>
+     * Calls are counted per policy instance, thus the same instance should be shared by the splitters whose calls should be sampled together.
+     *
+     * @param sampleRate a positive number N, so that one in N calls is checked fully
+     */
+    public static ValidationPolicy sampled(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Sample rate should be positive!");
+        }
+        return new ValidationPolicy(Level.FULL, Level.AREA_ONLY, sampleRate);
+    }
+
+    /**
+     * Determines the level of checks for the next call
+     */
+    Level nextLevel() {
+        if (sampleRate == 1) {
+            return sampledLevel;
+        }
+        return callCount.getAndIncrement() % sampleRate == 0 ? sampledLevel : defaultLevel;
+    }
+
+    @Override
+    public String toString() {
+        return sampleRate == 1 ? "ValidationPolicy [" + sampledLevel + "]" : "ValidationPolicy [" + sampledLevel + " on 1 in " + sampleRate + " calls, otherwise " + defaultLevel + "]";
+    }
+}
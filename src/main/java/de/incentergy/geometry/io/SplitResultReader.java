@@ -0,0 +1,144 @@
+package de.incentergy.geometry.io;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import com.vividsolutions.jts.geom.Coordinate;
+
+import de.incentergy.geometry.SplitResult;
+import de.incentergy.geometry.SplitResult.Chord;
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+
+/**
+ * Reads {@link SplitResult}s written by {@link SplitResultWriter}.<br>
+ * Only the polygon and the chords are read, the parts are built when they are first requested from the result. The chords are checked to lie on
+ * the rings they cut, so that a corrupt stream fails when read rather than when the parts are built.
+ */
+public class SplitResultReader implements Closeable {
+
+    /**
+     * Maximum number of vertices of a polygon read
+     */
+    public static final int MAX_VERTEX_COUNT = 1 << 24;
+
+    private final DataInputStream in;
+    private final double scale;
+
+    /**
+     * Reads the header of the stream
+     *
+     * @param in stream to read from
+     * @throws IOException if the stream is not written by {@link SplitResultWriter}
+     */
+    public SplitResultReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Objects.requireNonNull(in, "Input stream is required")));
+
+        byte[] magic = new byte[SplitResultWriter.MAGIC.length];
+        this.in.readFully(magic);
+        if (!Arrays.equals(magic, SplitResultWriter.MAGIC)) {
+            throw new IOException("Stream does not contain split results");
+        }
+        int version = this.in.readUnsignedByte();
+        if (version != SplitResultWriter.VERSION) {
+            throw new IOException("Unsupported version of split results: " + version);
+        }
+        this.scale = this.in.readDouble();
+    }
+
+    /**
+     * @return number the coordinates were multiplied by before rounding them to integers
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * @return next result, or null if there are no more results
+     * @throws EOFException if the stream ends in the middle of a result
+     * @throws IOException if the result is malformed
+     */
+    public SplitResult read() throws IOException {
+        int flags = in.read();
+        if (flags < 0) {
+            return null;
+        }
+
+        int vertexCount = Varints.readInt(in);
+        if (vertexCount < 3 || vertexCount > MAX_VERTEX_COUNT) {
+            throw new IOException("Polygon should have from 3 to " + MAX_VERTEX_COUNT + " vertices, but has " + vertexCount);
+        }
+        Coordinate[] vertices = new Coordinate[vertexCount];
+        long x = 0;
+        long y = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            x += Varints.readSigned(in);
+            y += Varints.readSigned(in);
+            vertices[i] = new Coordinate(x / scale, y / scale);
+        }
+
+        int chordCount = Varints.readInt(in);
+        List<Chord> chords = new ArrayList<>();
+        int ringVertexCount = vertexCount;         // of the ring cut by the current chord
+        for (int k = 0; k < chordCount; k++) {
+            int startSegment = Varints.readInt(in);
+            double startParameter = readPoint();
+            int endSegment = Varints.readInt(in);
+            double endParameter = readPoint();
+            if (startSegment >= ringVertexCount || endSegment >= ringVertexCount) {
+                throw new IOException("Chord " + k + " refers to a segment beyond the " + ringVertexCount + " segments of the ring");
+            }
+            try {
+                chords.add(new Chord(startSegment, startParameter, endSegment, endParameter));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Chord " + k + " is malformed", e);
+            }
+            ringVertexCount = getRemainderVertexCount(ringVertexCount, chords.get(k));
+            if (ringVertexCount < 3) {
+                throw new IOException("Chord " + k + " leaves a remainder of fewer than 3 vertices");
+            }
+        }
+        return new SplitResult(GeometryFactoryUtils.createPolygon(vertices), chords, (flags & SplitResultWriter.OPTIMAL) != 0);
+    }
+
+    private double readPoint() throws IOException {
+        long point = Varints.readUnsigned(in);
+        if (point == SplitResultWriter.START_VERTEX) {
+            return 0;
+        }
+        if (point == SplitResultWriter.END_VERTEX) {
+            return 1;
+        }
+        long steps = Varints.readUnsigned(in);
+        if (steps <= 0 || point - 1 >= steps) {
+            throw new IOException("Point " + (point - 1) + " / " + steps + " should lie within its segment");
+        }
+        return (double) (point - 1) / steps;
+    }
+
+    /**
+     * Counts the vertices of the remainder the same way as {@link de.incentergy.geometry.utils.PackedRing#slice PackedRing.slice} builds it: the
+     * end point of the chord, the vertices up to the start segment and the start point, which replaces the vertex it is on.
+     */
+    private static int getRemainderVertexCount(int ringVertexCount, Chord chord) {
+        int vertexCountBetween = (chord.getStartSegment() - chord.getEndSegment() + ringVertexCount) % ringVertexCount;
+        boolean endOnVertexBetween = chord.getEndParameter() == 1;
+        boolean startOnVertexBetween = chord.getStartParameter() == 0;
+        int skipped = vertexCountBetween == 1
+                ? (endOnVertexBetween || startOnVertexBetween ? 1 : 0)
+                : (endOnVertexBetween ? 1 : 0) + (startOnVertexBetween ? 1 : 0);
+        return vertexCountBetween + 2 - skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,182 @@
+package de.incentergy.geometry.io;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Objects;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Polygon;
+
+import de.incentergy.geometry.SplitResult;
+import de.incentergy.geometry.SplitResult.Chord;
+import de.incentergy.geometry.utils.GeometryFactoryUtils;
+import de.incentergy.geometry.utils.PackedRing;
+
+/**
+ * Writes {@link SplitResult}s in a compact binary form, storing the exterior ring of the split polygon once and the cuts as its
+ * {@link Chord chords}, rather than every part with its own copy of the lines of cut. Read by {@link SplitResultReader}.
+ * <p>
+ * Coordinates are rounded to the precision given by the scale (e.g. a scale of 1000 keeps 3 decimal places) and stored as variable-length
+ * integers, each one as the difference from the previous vertex. Points of the chords are rounded to the same precision along their segments.
+ * Holes of the polygon are not written, as they are not kept in the parts either.
+ * <p>
+ * The stream starts with a header: bytes {@code 'P' 'S' 'R'}, format version (1 byte) and the scale (8-byte double). Each result then consists
+ * of:
+ * <ul>
+ * <li>flags (1 byte), bit 0 telling whether the result is optimal</li>
+ * <li>number of distinct vertices of the exterior ring, followed by the x and y differences of each vertex (zigzag-encoded)</li>
+ * <li>number of chords, followed by the start segment, start point, end segment and end point of each chord</li>
+ * </ul>
+ * A point is 0 if it is the start vertex of its segment, 1 if it is the end vertex, otherwise d + 1 followed by n, the point being at d / n of
+ * the segment. All the numbers apart from the header are variable-length integers.
+ */
+public class SplitResultWriter implements Closeable {
+
+    static final byte[] MAGIC = { 'P', 'S', 'R' };
+    static final int VERSION = 1;
+
+    static final int OPTIMAL = 1;
+    static final int START_VERTEX = 0;
+    static final int END_VERTEX = 1;
+
+    private static final double MAX_SCALED_COORDINATE = 0x1p62;          // differences of scaled coordinates must fit into a long
+
+    private final DataOutputStream out;
+    private final double scale;
+
+    /**
+     * Writes the header of the stream
+     *
+     * @param out stream to write to
+     * @param scale number the coordinates are multiplied by before rounding them to integers
+     */
+    public SplitResultWriter(OutputStream out, double scale) throws IOException {
+        if (!(scale > 0) || Double.isInfinite(scale)) {
+            throw new IllegalArgumentException("Scale should be positive!");
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(Objects.requireNonNull(out, "Output stream is required")));
+        this.scale = scale;
+
+        this.out.write(MAGIC);
+        this.out.writeByte(VERSION);
+        this.out.writeDouble(scale);
+    }
+
+    /**
+     * @param result result holding the polygon and the chords
+     * @throws IllegalArgumentException if the result holds just the parts, or the precision is too coarse to reproduce the chords
+     */
+    public void write(SplitResult result) throws IOException {
+        Objects.requireNonNull(result, "Result is required");
+        if (result.getChords() == null) {
+            throw new IllegalArgumentException("Result should hold the chords of the split polygon");
+        }
+        PackedRing ring = new PackedRing(result.getPolygon().getExteriorRing());
+        long[] scaledRing = scale(ring);
+        List<Chord> chords = result.getChords();
+        long[] points = encodePoints(chords, unscale(scaledRing));
+
+        out.writeByte(result.isOptimal() ? OPTIMAL : 0);
+        int vertexCount = ring.getVertexCount();
+        Varints.writeUnsigned(out, vertexCount);
+        for (int i = 0; i < 2 * vertexCount; i++) {
+            Varints.writeSigned(out, scaledRing[i] - (i < 2 ? 0 : scaledRing[i - 2]));
+        }
+        Varints.writeUnsigned(out, chords.size());
+        for (int k = 0; k < chords.size(); k++) {
+            Varints.writeUnsigned(out, chords.get(k).getStartSegment());
+            writePoint(points[4 * k], points[4 * k + 1]);
+            Varints.writeUnsigned(out, chords.get(k).getEndSegment());
+            writePoint(points[4 * k + 2], points[4 * k + 3]);
+        }
+    }
+
+    /**
+     * Rounds the points of the chords along their segments. The chords are replayed on the rounded ring, so that the points are rounded along the
+     * same segments as the reader ends up with.
+     *
+     * @return for each chord, the encoded start point, the number of steps along its segment, the encoded end point and the number of steps along
+     *         its segment (0 if the point is a vertex)
+     */
+    private long[] encodePoints(List<Chord> chords, PackedRing roundedRing) {
+        long[] points = new long[4 * chords.size()];
+        for (int k = 0; k < chords.size(); k++) {
+            Chord chord = chords.get(k);
+            double start = encodePoint(roundedRing, chord.getStartSegment(), chord.getStartParameter(), points, 4 * k);
+            double end = encodePoint(roundedRing, chord.getEndSegment(), chord.getEndParameter(), points, 4 * k + 2);
+
+            Coordinate startPoint = roundedRing.getPointOnSegment(chord.getStartSegment(), start);
+            Coordinate endPoint = roundedRing.getPointOnSegment(chord.getEndSegment(), end);
+            if ((start < 1 && startPoint.equals2D(roundedRing.getCoordinate(chord.getStartSegment() + 1)))
+                    || (end > 0 && endPoint.equals2D(roundedRing.getCoordinate(chord.getEndSegment())))) {
+                // the point would be taken for the vertex, changing the indexes of the segments of the remainder
+                throw new IllegalArgumentException("Scale " + scale + " is too small to reproduce the chord " + chord);
+            }
+            Polygon remainder = roundedRing.slice(endPoint, chord.getEndSegment(), startPoint, chord.getStartSegment());
+            roundedRing = new PackedRing(remainder.getExteriorRing());
+        }
+        return points;
+    }
+
+    /**
+     * @return parameter of the point as rounded for the reader
+     */
+    private double encodePoint(PackedRing ring, int segment, double parameter, long[] points, int index) {
+        if (parameter == 0 || parameter == 1) {
+            points[index] = parameter == 0 ? START_VERTEX : END_VERTEX;
+            return parameter;
+        }
+        double length = Math.hypot(ring.getX(segment + 1) - ring.getX(segment), ring.getY(segment + 1) - ring.getY(segment));
+        long steps = Math.max(2, Math.round(length * scale));                     // at least the midpoint, as the vertices are not interior points
+        long step = Math.max(1, Math.min(steps - 1, Math.round(parameter * steps)));
+        points[index] = step + 1;
+        points[index + 1] = steps;
+        return (double) step / steps;
+    }
+
+    private void writePoint(long point, long steps) throws IOException {
+        Varints.writeUnsigned(out, point);
+        if (point > END_VERTEX) {
+            Varints.writeUnsigned(out, steps);
+        }
+    }
+
+    private long[] scale(PackedRing ring) {
+        int vertexCount = ring.getVertexCount();
+        long[] scaled = new long[2 * vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            scaled[2 * i] = scale(ring.getX(i));
+            scaled[2 * i + 1] = scale(ring.getY(i));
+        }
+        return scaled;
+    }
+
+    private long scale(double value) {
+        double scaled = value * scale;
+        if (!(Math.abs(scaled) < MAX_SCALED_COORDINATE)) {
+            throw new IllegalArgumentException("Coordinate " + value + " cannot be written at scale " + scale);
+        }
+        return Math.round(scaled);
+    }
+
+    private PackedRing unscale(long[] scaledRing) {
+        Coordinate[] vertices = new Coordinate[scaledRing.length / 2];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = new Coordinate(scaledRing[2 * i] / scale, scaledRing[2 * i + 1] / scale);
+        }
+        return new PackedRing(GeometryFactoryUtils.createPolygon(vertices).getExteriorRing());
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
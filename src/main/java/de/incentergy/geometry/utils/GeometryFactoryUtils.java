@@ -11,6 +11,7 @@ import com.vividsolutions.jts.geom.Geometry;
 import com.vividsolutions.jts.geom.GeometryCollection;
 import com.vividsolutions.jts.geom.GeometryFactory;
 import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Point;
 import com.vividsolutions.jts.geom.Polygon;
 import com.vividsolutions.jts.operation.polygonize.Polygonizer;
 
@@ -21,6 +22,10 @@ public final class GeometryFactoryUtils {
 
     private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory();
 
+    public static Point createPoint(Coordinate coordinate) {
+        return GEOMETRY_FACTORY.createPoint(coordinate);
+    }
+
     /**
      * Creates a triangle polygon with vertices in the provided order
      * @return
@@ -115,9 +120,11 @@ public final class GeometryFactoryUtils {
         boolean started = false;
         boolean finished = false;
 
-        List<LineSegment> edges = GeometryUtils.getLineSegments(polygonToSlice.getExteriorRing());
-        for (LineSegment edge : edges) {
-            if (!started && GeometryUtils.isPointOnLineSegment(startPoint, edge) && !startPoint.equals(edge.p1)) {
+        // edges are taken straight from the coordinates of the ring, edge i going from ring[i] to ring[i + 1]
+        Coordinate[] ring = polygonToSlice.getExteriorRing().getCoordinates();
+        int edgeCount = ring.length - 1;
+        for (int i = 0; i < edgeCount; i++) {
+            if (!started && isPointOnEdge(startPoint, ring, i) && !startPoint.equals(ring[i + 1])) {
                 // if startPoint is on the edge, start building up the sliced part
                 // if it is the endpoint, it will be considered as part of the next edge
                 vertices.add(startPoint);
@@ -126,9 +133,9 @@ public final class GeometryFactoryUtils {
             }
 
             if (started) {
-                vertices.add(edge.p0);
+                vertices.add(ring[i]);
 
-                if (GeometryUtils.isPointOnLineSegment(endPoint, edge)) {
+                if (isPointOnEdge(endPoint, ring, i)) {
                     vertices.add(endPoint);
                     finished = true;
                     break;
@@ -139,9 +146,9 @@ public final class GeometryFactoryUtils {
         if (started && !finished) {
             // polygon runs through the first point - continue until endPoint is reached
 
-            for (LineSegment edge : edges) {
-                vertices.add(edge.p0);
-                if (GeometryUtils.isPointOnLineSegment(endPoint, edge)) {
+            for (int i = 0; i < edgeCount; i++) {
+                vertices.add(ring[i]);
+                if (isPointOnEdge(endPoint, ring, i)) {
                     vertices.add(endPoint);
                     finished = true;
                     break;
@@ -152,6 +159,10 @@ public final class GeometryFactoryUtils {
         return createPolygon(vertices.toArray(new Coordinate[vertices.size()]));
     }
 
+    private static boolean isPointOnEdge(Coordinate point, Coordinate[] ring, int edge) {
+        return GeometryUtils.isPointOnLineSegment(point.x, point.y, ring[edge].x, ring[edge].y, ring[edge + 1].x, ring[edge + 1].y);
+    }
+
     public static GeometryCollection createGeometryCollection(Collection<? extends Geometry> geometries) {
         Objects.requireNonNull(geometries, "Parameter geometries is required");
         return GEOMETRY_FACTORY.createGeometryCollection(geometries.toArray(new Geometry[geometries.size()]));
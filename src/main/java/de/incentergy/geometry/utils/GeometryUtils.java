@@ -3,16 +3,19 @@ package de.incentergy.geometry.utils;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.vividsolutions.jts.algorithm.LineIntersector;
-import com.vividsolutions.jts.algorithm.RobustLineIntersector;
+import com.vividsolutions.jts.algorithm.CGAlgorithms;
+import com.vividsolutions.jts.algorithm.RobustDeterminant;
 import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.CoordinateSequence;
 import com.vividsolutions.jts.geom.LineSegment;
 import com.vividsolutions.jts.geom.LineString;
 import com.vividsolutions.jts.geom.Polygon;
-import com.vividsolutions.jts.geom.util.AffineTransformation;
 
 public final class GeometryUtils {
 
+    private static final double ROUNDING_TOLERANCE = 1e-12;              // relative to the magnitude of coordinates
+    private static final double ORIENTATION_ERROR_BOUND = 1e-15;        // relative to the sum of magnitudes of the terms of determinant
+
     private GeometryUtils() {
     }
 
@@ -26,16 +29,21 @@ public final class GeometryUtils {
      * @see https://en.wikipedia.org/wiki/Line%E2%80%93line_intersection
      */
     public static IntersectionCoordinate getIntersectionPoint(LineSegment lineA, LineSegment lineB) {
-        double x1 = lineA.p0.x;
-        double y1 = lineA.p0.y;
-        double x2 = lineA.p1.x;
-        double y2 = lineA.p1.y;
-
-        double x3 = lineB.p0.x;
-        double y3 = lineB.p0.y;
-        double x4 = lineB.p1.x;
-        double y4 = lineB.p1.y;
+        double[] intersection = new double[2];
+        if (!getIntersectionPoint(lineA.p0.x, lineA.p0.y, lineA.p1.x, lineA.p1.y, lineB.p0.x, lineB.p0.y, lineB.p1.x, lineB.p1.y, intersection)) {
+            return null;
+        }
+        return new IntersectionCoordinate(intersection[0], intersection[1], lineA, lineB);
+    }
 
+    /**
+     * Same as {@link #getIntersectionPoint(LineSegment, LineSegment)}, but takes the coordinates of line A (x1; y1) - (x2; y2) and
+     * line B (x3; y3) - (x4; y4) as primitives.
+     *
+     * @param result array of length 2 to store the x and y of intersection point
+     * @return true if the lines intersect, false if they don't (are parallel or overlap)
+     */
+    public static boolean getIntersectionPoint(double x1, double y1, double x2, double y2, double x3, double y3, double x4, double y4, double[] result) {
         double det1And2 = det(x1, y1, x2, y2);
         double det3And4 = det(x3, y3, x4, y4);
         double x1LessX2 = x1 - x2;
@@ -45,12 +53,12 @@ public final class GeometryUtils {
 
         double det1Less2And3Less4 = det(x1LessX2, y1LessY2, x3LessX4, y3LessY4);
         if (det1Less2And3Less4 == 0) {
-            return null;
+            return false;
         }
 
-        double x = det(det1And2, x1LessX2, det3And4, x3LessX4) / det1Less2And3Less4;
-        double y = det(det1And2, y1LessY2, det3And4, y3LessY4) / det1Less2And3Less4;
-        return new IntersectionCoordinate(x, y, lineA, lineB);
+        result[0] = det(det1And2, x1LessX2, det3And4, x3LessX4) / det1Less2And3Less4;
+        result[1] = det(det1And2, y1LessY2, det3And4, y3LessY4) / det1Less2And3Less4;
+        return true;
     }
 
     private static double det(double a, double b, double c, double d) {
@@ -66,18 +74,93 @@ public final class GeometryUtils {
      * @return true if line intersects at least one edge of the polygon
      */
     public static boolean isIntersectingPolygon(LineSegment line, Polygon polygon) {
-        LineIntersector lineIntersector = new RobustLineIntersector();
-
-        List<LineSegment> edges = getLineSegments(polygon.getExteriorRing());
-        for (LineSegment edge : edges) {
-            lineIntersector.computeIntersection(line.p0, line.p1, edge.p0, edge.p1);
-            if (lineIntersector.hasIntersection() && lineIntersector.isProper()) {      // intersection exists and is not one of the endpoints of the line
+        CoordinateSequence ring = polygon.getExteriorRing().getCoordinateSequence();
+        for (int i = 0; i < ring.size() - 1; i++) {
+            if (isCrossing(line.p0.x, line.p0.y, line.p1.x, line.p1.y, ring.getX(i), ring.getY(i), ring.getX(i + 1), ring.getY(i + 1))) {
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Checks if the lines cross at a single point which is not an endpoint of either of them. This is the same as a proper intersection found
+     * by {@link com.vividsolutions.jts.algorithm.RobustLineIntersector RobustLineIntersector}, but without creating one.
+     */
+    public static boolean isCrossing(LineSegment lineA, LineSegment lineB) {
+        return isCrossing(lineA.p0.x, lineA.p0.y, lineA.p1.x, lineA.p1.y, lineB.p0.x, lineB.p0.y, lineB.p1.x, lineB.p1.y);
+    }
+
+    /**
+     * Same as {@link #isCrossing(LineSegment, LineSegment)}, but takes the coordinates of line A (ax0; ay0) - (ax1; ay1) and line B
+     * (bx0; by0) - (bx1; by1) as primitives.
+     */
+    public static boolean isCrossing(double ax0, double ay0, double ax1, double ay1, double bx0, double by0, double bx1, double by1) {
+        if (Math.max(ax0, ax1) < Math.min(bx0, bx1) || Math.max(bx0, bx1) < Math.min(ax0, ax1)
+                || Math.max(ay0, ay1) < Math.min(by0, by1) || Math.max(by0, by1) < Math.min(ay0, ay1)) {
+            return false;               // envelopes are disjoint
+        }
+        // endpoints of each line lie strictly on the opposite sides of the other line (any of them lying on it is not a proper intersection)
+        int orientationOfB0 = getOrientationIndex(ax0, ay0, ax1, ay1, bx0, by0);
+        int orientationOfB1 = getOrientationIndex(ax0, ay0, ax1, ay1, bx1, by1);
+        if (orientationOfB0 == 0 || orientationOfB0 == orientationOfB1 || orientationOfB1 == 0) {
+            return false;
+        }
+        int orientationOfA0 = getOrientationIndex(bx0, by0, bx1, by1, ax0, ay0);
+        int orientationOfA1 = getOrientationIndex(bx0, by0, bx1, by1, ax1, ay1);
+        return orientationOfA0 != 0 && orientationOfA1 != 0 && orientationOfA0 != orientationOfA1;
+    }
+
+    /**
+     * Checks if the lines are collinear and share a section of non-zero length (touching at a single point is not an overlap)
+     */
+    public static boolean isOverlapping(LineSegment lineA, LineSegment lineB) {
+        double x0 = lineB.p0.x;
+        double y0 = lineB.p0.y;
+        double dx = lineB.p1.x - x0;
+        double dy = lineB.p1.y - y0;
+        if (getOrientationIndex(x0, y0, lineB.p1.x, lineB.p1.y, lineA.p0.x, lineA.p0.y) != 0
+                || getOrientationIndex(x0, y0, lineB.p1.x, lineB.p1.y, lineA.p1.x, lineA.p1.y) != 0) {
+            return false;
+        }
+        // positions of endpoints of line A along line B, scaled by the squared length of line B
+        double position0 = (lineA.p0.x - x0) * dx + (lineA.p0.y - y0) * dy;
+        double position1 = (lineA.p1.x - x0) * dx + (lineA.p1.y - y0) * dy;
+        return Math.min(Math.max(position0, position1), dx * dx + dy * dy) > Math.max(Math.min(position0, position1), 0);
+    }
+
+    /**
+     * Determines the orientation of point (x; y) relative to the line (x0; y0) - (x1; y1) like
+     * {@link CGAlgorithms#orientationIndex(Coordinate, Coordinate, Coordinate)}: the determinant is computed in floating point and its sign is
+     * taken if it exceeds the bound of the rounding error, otherwise (i.e. only when the point is nearly on the line) the sign is computed
+     * exactly by {@link RobustDeterminant} from the differences of the coordinates.
+     *
+     * @return 1 if the point is to the left of the line, -1 if it is to the right and 0 if it is on the line
+     */
+    private static int getOrientationIndex(double x0, double y0, double x1, double y1, double x, double y) {
+        double detLeft = (x0 - x) * (y1 - y);
+        double detRight = (y0 - y) * (x1 - x);
+        double det = detLeft - detRight;
+        double detSum;
+        if (detLeft > 0) {
+            if (detRight <= 0) {
+                return (int) Math.signum(det);
+            }
+            detSum = detLeft + detRight;
+        } else if (detLeft < 0) {
+            if (detRight >= 0) {
+                return (int) Math.signum(det);
+            }
+            detSum = -detLeft - detRight;
+        } else {
+            return (int) Math.signum(det);
+        }
+        if (Math.abs(det) >= ORIENTATION_ERROR_BOUND * detSum) {
+            return (int) Math.signum(det);
+        }
+        return RobustDeterminant.signOfDet2x2(x0 - x, y0 - y, x1 - x, y1 - y);
+    }
+
     /**
      * Determines a projection of vertex on opposing edge at an angle perpendicular to angle-bisector of the edges
      * @param vertex
@@ -86,9 +169,35 @@ public final class GeometryUtils {
      * @return
      */
     public static Coordinate getProjectedPoint(Coordinate vertex, LineSegment opposingEdge, IntersectionCoordinate intersectionPoint) {
-        if (intersectionPoint != null) {
+        double[] projectedPoint = new double[2];
+        boolean projected = intersectionPoint != null
+                ? getProjectedPoint(vertex.x, vertex.y, opposingEdge.p0.x, opposingEdge.p0.y, opposingEdge.p1.x, opposingEdge.p1.y,
+                        intersectionPoint.x, intersectionPoint.y, intersectionPoint.belongsToOneOfTheEdges, projectedPoint)
+                : getProjectedPoint(vertex.x, vertex.y, opposingEdge.p0.x, opposingEdge.p0.y, opposingEdge.p1.x, opposingEdge.p1.y,
+                        Double.NaN, Double.NaN, false, projectedPoint);
+        return projected ? new Coordinate(projectedPoint[0], projectedPoint[1]) : null;
+    }
+
+    /**
+     * Same as {@link #getProjectedPoint(Coordinate, LineSegment, IntersectionCoordinate)}, but takes the coordinates as primitives.
+     *
+     * @param vertexX x of vertex to project
+     * @param vertexY y of vertex to project
+     * @param x0 x of opposing edge start
+     * @param y0 y of opposing edge start
+     * @param x1 x of opposing edge end
+     * @param y1 y of opposing edge end
+     * @param intersectionX x of the point where the edges would intersect if they were infinite lines, NaN if they are parallel
+     * @param intersectionY y of the point where the edges would intersect if they were infinite lines, NaN if they are parallel
+     * @param intersectionBelongsToOneOfTheEdges true if intersection point lies on one of the edges (excluding endpoints)
+     * @param result array of length 2 to store the x and y of projected point
+     * @return true if the projection falls on the opposing edge
+     */
+    public static boolean getProjectedPoint(double vertexX, double vertexY, double x0, double y0, double x1, double y1,
+            double intersectionX, double intersectionY, boolean intersectionBelongsToOneOfTheEdges, double[] result) {
+        if (!Double.isNaN(intersectionX)) {
 
-            if (intersectionPoint.belongsToOneOfTheEdges) {
+            if (intersectionBelongsToOneOfTheEdges) {
                 // edge case - intersection point lies somewhere on the opposingEdge
                 // in this case the distance-based approach does not work, as there could be two points having the same distance - one towards each edge
 
@@ -99,35 +208,35 @@ public final class GeometryUtils {
                  * In 1st case we can discard the point straight away, as the projection will fall outside the opposingEdge (on the other side of the intersection point)
                  * In 2nd case we can shorten the opposingEdge by removing the part of the edge that lies on the other side of the perpendicular line
                  */
-                // create a line perpendicular to the opposingEdge at intersection point (rotate one of the endpoints 90 degrees around intersection point)
-                AffineTransformation rotate90degAroundIntersection = AffineTransformation.rotationInstance(1, 0, intersectionPoint.x, intersectionPoint.y);
-                Coordinate pointAlongPerpendicularLine = rotate90degAroundIntersection.transform(opposingEdge.p0, new Coordinate());
-                LineSegment perpendicularLine = new LineSegment(intersectionPoint, pointAlongPerpendicularLine);
-
-                int orientationIndexOfVertex = perpendicularLine.orientationIndex(vertex);
+                // the perpendicular line goes through intersection point and one of the endpoints of opposingEdge rotated 90 degrees around it
+                int orientationIndexOfVertex = getPerpendicularOrientationIndex(vertexX, vertexY, x0, y0, intersectionX, intersectionY);
 
-                if (isPointOnLineSegmentExcludingEndpoints(intersectionPoint, opposingEdge)) {
+                if (isPointOnLineSegmentExcludingEndpoints(intersectionX, intersectionY, x0, y0, x1, y1)) {
                     // the intersection point is on the edge
-                    int orientationIndexOfP0 = perpendicularLine.orientationIndex(opposingEdge.p0);
+                    int orientationIndexOfP0 = getPerpendicularOrientationIndex(x0, y0, x0, y0, intersectionX, intersectionY);
                     if (orientationIndexOfVertex == orientationIndexOfP0) {
                         // p0 of opposingEdge is on the same side as the vertex (thus we shorten the segment discarding p1)
-                        opposingEdge = new LineSegment(opposingEdge.p0, intersectionPoint);
+                        x1 = intersectionX;
+                        y1 = intersectionY;
 
                     } else {
                         // p1 of opposingEdge is on the same side as the vertex (thus we shorten the segment discarding p0)
-                        opposingEdge = new LineSegment(intersectionPoint, opposingEdge.p1);
+                        x0 = intersectionX;
+                        y0 = intersectionY;
                     }
-                    // proceed as usual using the modified LineSegment
+                    // proceed as usual using the modified edge
 
                 } else {
                     // the intersection point is outside of the edge
-                    int orientationIndexOfEdge = perpendicularLine.orientationIndex(opposingEdge);   // -1 or +1
+                    int orientationIndexOfEdge = getOrientationIndex(
+                            getPerpendicularOrientationIndex(x0, y0, x0, y0, intersectionX, intersectionY),
+                            getPerpendicularOrientationIndex(x1, y1, x0, y0, intersectionX, intersectionY));   // -1 or +1
                     // TODO: need to handle edge pairs better
 //                    boolean vertexIsOnPerpendicularLine = orientationIndexOfVertex == 0;             // this is needed to handle cases when both edges are perpendicular to each other
                     boolean vertexIsOnPerpendicularLine = false;
                     if (!vertexIsOnPerpendicularLine && orientationIndexOfVertex != orientationIndexOfEdge) {
                         // projection of vertex is located somewhere on the opposite side of the intersection point (not on the edge)
-                        return null;
+                        return false;
                     }
                     // otherwise it is on the same side - proceed as usual
                 }
@@ -136,66 +245,150 @@ public final class GeometryUtils {
             // usual case - when intersection point is somewhere further on the line covering opposing edge
             // Note: projection perpendicular to the angle bisector will be located an equal distance from intersection point
 
-            double distanceOfVertex = vertex.distance(intersectionPoint);
+            double squaredDistanceOfVertex = squaredDistance(vertexX, vertexY, intersectionX, intersectionY);
 
             // check if the point falls on the edge. I.e. distance from intersection must be between distances of start and end points
-            double distOfOpEdgeVertex1 = intersectionPoint.distance(opposingEdge.p0);
-            double distOfOpEdgeVertex2 = intersectionPoint.distance(opposingEdge.p1);
+            double squaredDistOfOpEdgeVertex1 = squaredDistance(intersectionX, intersectionY, x0, y0);
+            double squaredDistOfOpEdgeVertex2 = squaredDistance(intersectionX, intersectionY, x1, y1);
 
-            if (distanceOfVertex >= Math.max(distOfOpEdgeVertex1, distOfOpEdgeVertex2) || distanceOfVertex <= Math.min(distOfOpEdgeVertex1, distOfOpEdgeVertex2)) {
+            if (squaredDistanceOfVertex >= Math.max(squaredDistOfOpEdgeVertex1, squaredDistOfOpEdgeVertex2)
+                    || squaredDistanceOfVertex <= Math.min(squaredDistOfOpEdgeVertex1, squaredDistOfOpEdgeVertex2)) {
                 // the projection falls outside of the opposing edge - ignore it
                 // This also covers cases when projected point matches the vertex
-                return null;
+                return false;
             }
 
             // determine a point along the opposing edge for which distance from intersection point is equal to that of vertex being projected
-            Coordinate furtherPoint = getFurtherEnd(intersectionPoint, opposingEdge);
-            LineSegment extendedOpposingEdge = new LineSegment(intersectionPoint, furtherPoint);
-            return extendedOpposingEdge.pointAlong(distanceOfVertex / extendedOpposingEdge.getLength());
+            boolean p0IsFurther = squaredDistOfOpEdgeVertex1 > squaredDistOfOpEdgeVertex2;
+            double furtherX = p0IsFurther ? x0 : x1;
+            double furtherY = p0IsFurther ? y0 : y1;
+            double fraction = Math.sqrt(squaredDistanceOfVertex) / distance(intersectionX, intersectionY, furtherX, furtherY);
+            result[0] = intersectionX + fraction * (furtherX - intersectionX);
+            result[1] = intersectionY + fraction * (furtherY - intersectionY);
+            return true;
         } else {
             // In case of parallel lines, we do not have an intersection point
-            Coordinate closestPointOnOpposingLine = opposingEdge.project(vertex);       // a projection onto opposingEdge (extending to infinity)
-            return isPointOnLineSegmentExcludingEndpoints(closestPointOnOpposingLine, opposingEdge) ? closestPointOnOpposingLine : null;
+            // project onto opposingEdge (extending to infinity)
+            if ((vertexX == x0 && vertexY == y0) || (vertexX == x1 && vertexY == y1)) {
+                return false;           // the projection is one of the endpoints
+            }
+            double dx = x1 - x0;
+            double dy = y1 - y0;
+            double projectionFactor = ((vertexX - x0) * dx + (vertexY - y0) * dy) / (dx * dx + dy * dy);
+            result[0] = x0 + projectionFactor * dx;
+            result[1] = y0 + projectionFactor * dy;
+            return isPointOnLineSegmentExcludingEndpoints(result[0], result[1], x0, y0, x1, y1);
         }
     }
 
     /**
-     * Returns {@link LineSegment} vertex that is further from given point
-     * @param point a point
-     * @param lineSegment
-     * @return
+     * Determines the orientation of a point relative to a line which goes through intersection point and is perpendicular to the line
+     * connecting intersection point and (x0; y0).<br>
+     * This is the same as orientation relative to (x0; y0) rotated 90 degrees counter-clockwise around intersection point, which reduces to the
+     * sign of a dot product.
+     *
+     * @return 1 if the point is to the left of perpendicular line, -1 if it is to the right and 0 if it is on the line
      */
-    private static Coordinate getFurtherEnd(Coordinate point, LineSegment lineSegment) {
-        return point.distance(lineSegment.p0) > point.distance(lineSegment.p1) ? lineSegment.p0 : lineSegment.p1;
+    private static int getPerpendicularOrientationIndex(double x, double y, double x0, double y0, double intersectionX, double intersectionY) {
+        double dotProduct = (x0 - intersectionX) * (x - intersectionX) + (y0 - intersectionY) * (y - intersectionY);
+        return dotProduct > 0 ? -1 : (dotProduct < 0 ? 1 : 0);
+    }
+
+    /**
+     * Combines orientation indexes of segment endpoints, the same way as {@link LineSegment#orientationIndex(LineSegment)}
+     *
+     * @return 1 or -1 if the segment is to the left or to the right, 0 if it crosses the line
+     */
+    private static int getOrientationIndex(int orientationIndexOfP0, int orientationIndexOfP1) {
+        if (orientationIndexOfP0 >= 0 && orientationIndexOfP1 >= 0) {
+            return Math.max(orientationIndexOfP0, orientationIndexOfP1);
+        }
+        if (orientationIndexOfP0 <= 0 && orientationIndexOfP1 <= 0) {
+            return Math.min(orientationIndexOfP0, orientationIndexOfP1);
+        }
+        return 0;
+    }
+
+    private static double distance(double x0, double y0, double x1, double y1) {
+        return Math.sqrt(squaredDistance(x0, y0, x1, y1));
+    }
+
+    private static double squaredDistance(double x0, double y0, double x1, double y1) {
+        double dx = x0 - x1;
+        double dy = y0 - y1;
+        return dx * dx + dy * dy;
     }
 
     /**
      * Checks if the point is located on the given {@link LineSegment} (including endpoints).
      */
     public static boolean isPointOnLineSegment(Coordinate point, LineSegment line) {
-        double lengthOfLine = line.getLength();
-        double distFromEnd1 = point.distance(line.p0);
-        double distFromEnd2 = point.distance(line.p1);
+        return isPointOnLineSegment(point.x, point.y, line.p0.x, line.p0.y, line.p1.x, line.p1.y);
+    }
 
-        // this seems to handle robustness errors (due to rounding) better
-        if (distFromEnd1 + distFromEnd2 == lengthOfLine) {
+    /**
+     * Checks if the point (x; y) is located on the line segment (x0; y0) - (x1; y1) (including endpoints).<br>
+     * Points computed along the line (e.g. points of cut) can be off the line by a rounding error, which is proportional to the magnitude of
+     * coordinates, thus points within that distance from the line segment are considered to be on it. Squared distances are compared, so that
+     * no square roots are taken.
+     */
+    public static boolean isPointOnLineSegment(double x, double y, double x0, double y0, double x1, double y1) {
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        double squaredLength = dx * dx + dy * dy;
+        double magnitude = Math.max(Math.max(Math.abs(x0), Math.abs(y0)), Math.max(Math.abs(x1), Math.abs(y1)));
+        double squaredTolerance = ROUNDING_TOLERANCE * ROUNDING_TOLERANCE * Math.max(magnitude * magnitude, squaredLength);
+
+        double projection = (x - x0) * dx + (y - y0) * dy;         // position of the point along the line, scaled by the squared length
+        if (projection <= 0) {
+            return squaredDistance(x, y, x0, y0) <= squaredTolerance;
+        }
+        if (projection >= squaredLength) {
+            return squaredDistance(x, y, x1, y1) <= squaredTolerance;
+        }
+        double crossProduct = det(dx, dy, x - x0, y - y0);          // distance from the line, scaled by the length
+        if (crossProduct * crossProduct <= squaredTolerance * squaredLength) {
             return true;
         }
+        // the cross product itself can be off by a rounding error, thus points exactly on the line are determined robustly
+        return RobustDeterminant.signOfDet2x2(dx, dy, x - x0, y - y0) == 0;
+    }
 
-        // Fallback to what should probably be the robust implementation (TODO: investigate precision issues)
-        LineIntersector lineIntersector = new RobustLineIntersector();
-        lineIntersector.computeIntersection(point, line.p0, line.p1);
-        return lineIntersector.hasIntersection();
+    /**
+     * Computes the distance from point (x; y) to the line segment (x0; y0) - (x1; y1)
+     */
+    public static double getDistanceToLineSegment(double x, double y, double x0, double y0, double x1, double y1) {
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        double lengthSquared = dx * dx + dy * dy;
+        if (lengthSquared == 0) {
+            return distance(x, y, x0, y0);
+        }
+        double projectionFactor = ((x - x0) * dx + (y - y0) * dy) / lengthSquared;
+        if (projectionFactor <= 0) {
+            return distance(x, y, x0, y0);
+        }
+        if (projectionFactor >= 1) {
+            return distance(x, y, x1, y1);
+        }
+        return Math.abs(det(dx, dy, x - x0, y - y0)) / Math.sqrt(lengthSquared);
     }
 
     /**
      * Checks if the point is located on the given {@link LineSegment} (excluding endpoints).
      */
     public static boolean isPointOnLineSegmentExcludingEndpoints(Coordinate point, LineSegment line) {
-        if (point.equals(line.p0) || point.equals(line.p1)) {
+        return isPointOnLineSegmentExcludingEndpoints(point.x, point.y, line.p0.x, line.p0.y, line.p1.x, line.p1.y);
+    }
+
+    /**
+     * Checks if the point (x; y) is located on the line segment (x0; y0) - (x1; y1) (excluding endpoints).
+     */
+    public static boolean isPointOnLineSegmentExcludingEndpoints(double x, double y, double x0, double y0, double x1, double y1) {
+        if ((x == x0 && y == y0) || (x == x1 && y == y1)) {
             return false;
         }
-        return isPointOnLineSegment(point, line);
+        return isPointOnLineSegment(x, y, x0, y0, x1, y1);
     }
 
     /**
@@ -0,0 +1,194 @@
+package de.incentergy.geometry.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.LineString;
+import com.vividsolutions.jts.geom.Polygon;
+
+/**
+ * Vertices of a ring stored as a single array of interleaved x and y values.<br>
+ * Unlike {@link Coordinate} arrays, the values are laid out contiguously in memory and reading them creates no objects, which matters when
+ * the same ring is traversed for thousands of edge pairs. JTS objects are created only on request.
+ * <p>
+ * Only distinct vertices are stored, i.e. the closing vertex of the ring is omitted. Vertex indexes wrap around, thus the segment i goes from
+ * vertex i to vertex (i + 1) % vertexCount.
+ */
+public final class PackedRing {
+
+    private final double[] xy;
+
+    public PackedRing(LineString ring) {
+        Objects.requireNonNull(ring, "Ring is required");
+        if (!ring.isClosed()) {
+            throw new IllegalArgumentException("Ring must be closed");
+        }
+        int vertexCount = ring.getNumPoints() - 1;
+        xy = new double[vertexCount * 2];
+        for (int i = 0; i < vertexCount; i++) {
+            Coordinate vertex = ring.getCoordinateN(i);
+            xy[2 * i] = vertex.x;
+            xy[2 * i + 1] = vertex.y;
+        }
+    }
+
+    /**
+     * @return number of distinct vertices, which is also the number of segments
+     */
+    public int getVertexCount() {
+        return xy.length / 2;
+    }
+
+    public double getX(int vertex) {
+        return xy[2 * (vertex % getVertexCount())];
+    }
+
+    public double getY(int vertex) {
+        return xy[2 * (vertex % getVertexCount()) + 1];
+    }
+
+    public Coordinate getCoordinate(int vertex) {
+        return new Coordinate(getX(vertex), getY(vertex));
+    }
+
+    /**
+     * Simplifies the ring using the Douglas-Peucker algorithm: a vertex is dropped if it is closer than the tolerance to the segment replacing
+     * the vertices around it. Thus every dropped vertex lies within the tolerance from the simplified ring.<br>
+     * Unlike {@link com.vividsolutions.jts.simplify.DouglasPeuckerSimplifier}, no geometry is built and the retained vertices are identified by
+     * their indexes in this ring. Note: the simplified ring may self-intersect.
+     *
+     * @param distanceTolerance maximum distance of a dropped vertex from the simplified ring
+     * @return indexes of the retained vertices in ascending order, starting with 0
+     */
+    public int[] getSimplifiedVertices(double distanceTolerance) {
+        int vertexCount = getVertexCount();
+        boolean[] retained = new boolean[vertexCount + 1];
+
+        // the ring is split into 2 chains by vertex 0 and the vertex farthest from it
+        int farthestVertex = 0;
+        double maxDistance = -1;
+        for (int i = 1; i < vertexCount; i++) {
+            double distance = Math.hypot(getX(i) - getX(0), getY(i) - getY(0));
+            if (distance > maxDistance) {
+                farthestVertex = i;
+                maxDistance = distance;
+            }
+        }
+        retained[0] = true;
+        retained[farthestVertex] = true;
+        retained[vertexCount] = true;           // vertex 0 once again, closing the ring
+
+        Deque<int[]> chains = new ArrayDeque<>();
+        chains.push(new int[] { 0, farthestVertex });
+        chains.push(new int[] { farthestVertex, vertexCount });
+        while (!chains.isEmpty()) {
+            int[] chain = chains.pop();
+            int start = chain[0];
+            int end = chain[1];
+
+            int farthestFromSegment = -1;
+            double maxDistanceFromSegment = distanceTolerance;
+            for (int i = start + 1; i < end; i++) {
+                double distance = GeometryUtils.getDistanceToLineSegment(getX(i), getY(i), getX(start), getY(start), getX(end), getY(end));
+                if (distance > maxDistanceFromSegment) {
+                    farthestFromSegment = i;
+                    maxDistanceFromSegment = distance;
+                }
+            }
+            if (farthestFromSegment != -1) {
+                retained[farthestFromSegment] = true;
+                chains.push(new int[] { start, farthestFromSegment });
+                chains.push(new int[] { farthestFromSegment, end });
+            }
+        }
+
+        int retainedCount = 0;
+        int[] retainedVertices = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            if (retained[i]) {
+                retainedVertices[retainedCount++] = i;
+            }
+        }
+        return Arrays.copyOf(retainedVertices, retainedCount);
+    }
+
+    /**
+     * Computes the position of a point along a segment, as a fraction of the segment's length.<br>
+     * The start and end vertices of the segment yield exactly 0 and 1 respectively, which {@link #getPointOnSegment(int, double)} maps back to
+     * the vertices themselves.
+     *
+     * @param segment index of segment containing the point
+     * @param point a point on the segment
+     * @return parameter between 0 and 1
+     */
+    public double getParameter(int segment, Coordinate point) {
+        double dx = getX(segment + 1) - getX(segment);
+        double dy = getY(segment + 1) - getY(segment);
+        double parameter = ((point.x - getX(segment)) * dx + (point.y - getY(segment)) * dy) / (dx * dx + dy * dy);
+        return Math.max(0, Math.min(1, parameter));
+    }
+
+    /**
+     * @param segment index of segment
+     * @param parameter position along the segment, 0 being its start vertex and 1 being its end vertex
+     * @return the point at the given position, which is the vertex itself at 0 and 1
+     */
+    public Coordinate getPointOnSegment(int segment, double parameter) {
+        if (parameter <= 0) {
+            return getCoordinate(segment);
+        }
+        if (parameter >= 1) {
+            return getCoordinate(segment + 1);
+        }
+        double x = getX(segment);
+        double y = getY(segment);
+        return new Coordinate(x + parameter * (getX(segment + 1) - x), y + parameter * (getY(segment + 1) - y));
+    }
+
+    /**
+     * Builds a polygon starting at start point, going along the ring until end point is reached and then connecting it to start point.<br>
+     * The segments containing the points are already known, thus the ring is spliced in linear time without testing which segment each point
+     * lies on.
+     *
+     * @param startPoint a point on the start segment where to start
+     * @param startSegment index of segment containing the start point
+     * @param endPoint a point on the end segment where to end
+     * @param endSegment index of segment containing the end point, must be different from start segment
+     * @return the sliced polygon, oriented the same way as the ring
+     */
+    public Polygon slice(Coordinate startPoint, int startSegment, Coordinate endPoint, int endSegment) {
+        int segmentCount = getVertexCount();
+        int vertexCountBetween = (endSegment - startSegment + segmentCount) % segmentCount;      // vertices from startSegment + 1 to endSegment
+
+        List<Coordinate> vertices = new ArrayList<>(vertexCountBetween + 2);
+        vertices.add(startPoint);
+        for (int k = 1; k <= vertexCountBetween; k++) {
+            int vertex = startSegment + k;
+            if ((k == 1 && getX(vertex) == startPoint.x && getY(vertex) == startPoint.y)
+                    || (k == vertexCountBetween && getX(vertex) == endPoint.x && getY(vertex) == endPoint.y)) {
+                continue;           // point of cut is the vertex itself (at the end of start segment or at the start of end segment)
+            }
+            vertices.add(getCoordinate(vertex));
+        }
+        vertices.add(endPoint);
+        return GeometryFactoryUtils.createPolygon(vertices.toArray(new Coordinate[vertices.size()]));
+    }
+
+    /**
+     * @return coordinates of a closed ring, i.e. the last coordinate equals the first one
+     */
+    public Coordinate[] toCoordinates() {
+        int vertexCount = getVertexCount();
+        Coordinate[] coordinates = new Coordinate[vertexCount + 1];
+        for (int i = 0; i < vertexCount; i++) {
+            coordinates[i] = getCoordinate(i);
+        }
+        coordinates[vertexCount] = new Coordinate(coordinates[0]);
+        return coordinates;
+    }
+}
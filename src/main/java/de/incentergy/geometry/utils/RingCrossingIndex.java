@@ -0,0 +1,68 @@
+package de.incentergy.geometry.utils;
+
+import java.util.List;
+
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.index.chain.MonotoneChain;
+import com.vividsolutions.jts.index.chain.MonotoneChainBuilder;
+import com.vividsolutions.jts.index.chain.MonotoneChainSelectAction;
+import com.vividsolutions.jts.index.strtree.STRtree;
+
+/**
+ * Spatial index over the exterior ring of a polygon, which allows to check whether a line crosses the ring without checking every edge.<br>
+ * The ring is split into monotone chains, which are stored in an {@link STRtree}. Only the edges of chains near the line are checked.
+ * <p>
+ * The index is built once and is safe to query from multiple threads.
+ */
+public final class RingCrossingIndex {
+
+    private final STRtree chainTree = new STRtree();
+
+    public RingCrossingIndex(Polygon polygon) {
+        @SuppressWarnings("unchecked")
+        List<MonotoneChain> chains = MonotoneChainBuilder.getChains(polygon.getExteriorRing().getCoordinates());
+        for (MonotoneChain chain : chains) {
+            chainTree.insert(chain.getEnvelope(), chain);
+        }
+        chainTree.build();              // build eagerly, so that querying does not modify the tree
+    }
+
+    /**
+     * Same as {@link GeometryUtils#isIntersectingPolygon(LineSegment, Polygon)} for the indexed polygon.<br>
+     * Start and end points of the line can only touch, but not cross the edges of polygon.
+     *
+     * @param line line which might intersect the edges of polygon
+     * @return true if line intersects at least one edge of the polygon
+     */
+    public boolean isIntersecting(LineSegment line) {
+        Envelope lineEnvelope = new Envelope(line.p0, line.p1);
+        ProperIntersectionAction action = new ProperIntersectionAction(line);
+
+        for (Object chain : chainTree.query(lineEnvelope)) {
+            ((MonotoneChain) chain).select(lineEnvelope, action);
+            if (action.found) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class ProperIntersectionAction extends MonotoneChainSelectAction {
+        private final LineSegment line;
+        private boolean found;
+
+        private ProperIntersectionAction(LineSegment line) {
+            this.line = line;
+        }
+
+        @Override
+        public void select(LineSegment edge) {
+            if (found) {
+                return;
+            }
+            found = GeometryUtils.isCrossing(line, edge);      // intersection exists and is not one of the endpoints of the line
+        }
+    }
+}
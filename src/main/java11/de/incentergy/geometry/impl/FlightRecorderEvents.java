@@ -0,0 +1,55 @@
+package de.incentergy.geometry.impl;
+
+import de.incentergy.geometry.SplitListener.IterationMetrics;
+
+/**
+ * Emits JDK Flight Recorder events of the splits, see {@link SplitEvent}, {@link IterationEvent} and {@link SanityCheckFailedEvent}.<br>
+ * This is the implementation for Java 11 and later. The event classes are only loaded if the {@code jdk.jfr} module is present, as it may be
+ * left out of a custom runtime image. While no recording is running, an event is just checked for being enabled, and no metrics are collected
+ * for it.
+ */
+final class FlightRecorderEvents {
+
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * @return a started split event, or null if it is not recorded
+     */
+    static Object beginSplit() {
+        return AVAILABLE ? SplitEvent.beginIfEnabled() : null;
+    }
+
+    /**
+     * @param splitEvent event returned by {@link #beginSplit()}
+     */
+    static void endSplit(Object splitEvent, int vertexCount, int numberOfParts) {
+        if (splitEvent != null) {
+            ((SplitEvent) splitEvent).end(vertexCount, numberOfParts);
+        }
+    }
+
+    /**
+     * @return a started iteration event, or null if it is not recorded
+     */
+    static Object beginIteration() {
+        return AVAILABLE ? IterationEvent.beginIfEnabled() : null;
+    }
+
+    /**
+     * @param iterationEvent event returned by {@link #beginIteration()}
+     */
+    static void endIteration(Object iterationEvent, IterationMetrics metrics) {
+        if (iterationEvent != null) {
+            ((IterationEvent) iterationEvent).end(metrics);
+        }
+    }
+
+    static void sanityCheckFailed(String message) {
+        if (AVAILABLE) {
+            SanityCheckFailedEvent.commitIfEnabled(message);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package de.incentergy.geometry.impl;
+
+import de.incentergy.geometry.SplitListener.IterationMetrics;
+import de.incentergy.geometry.SplitListener.Rejection;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("de.incentergy.geometry.Iteration")
+@Label("Greedy Iteration")
+@Category("Polysplit")
+@Description("Search for the shortest cut and cutting away a single part")
+@StackTrace(false)
+final class IterationEvent extends Event {
+
+    @Label("Iteration")
+    @Description("Index of the part cut away, starting at 0")
+    int iteration;
+
+    @Label("Edge Pairs")
+    @Description("Number of edge pairs evaluated")
+    long edgePairCount;
+
+    @Label("Rejected Edge Pairs")
+    @Description("Number of edge pairs (or directions of them) which did not produce a cut")
+    long rejectedCount;
+
+    @Label("Candidate Cuts")
+    @Description("Number of cuts produced by the edge pairs")
+    long candidateCutCount;
+
+    /**
+     * @return a started event, or null if it is not recorded
+     */
+    static IterationEvent beginIfEnabled() {
+        IterationEvent event = new IterationEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    void end(IterationMetrics metrics) {
+        end();
+        if (shouldCommit()) {
+            iteration = metrics.getIteration();
+            edgePairCount = metrics.getEdgePairCount();
+            for (Rejection rejection : Rejection.values()) {
+                rejectedCount += metrics.getRejectedCount(rejection);
+            }
+            candidateCutCount = metrics.getCandidateCutCount();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package de.incentergy.geometry.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("de.incentergy.geometry.SanityCheckFailed")
+@Label("Sanity Check Failed")
+@Category("Polysplit")
+@Description("The parts of a split polygon did not pass a sanity check")
+@StackTrace(true)
+final class SanityCheckFailedEvent extends Event {
+
+    @Label("Message")
+    String message;
+
+    static void commitIfEnabled(String message) {
+        SanityCheckFailedEvent event = new SanityCheckFailedEvent();
+        if (event.isEnabled()) {
+            event.message = message;
+            event.commit();
+        }
+    }
+}
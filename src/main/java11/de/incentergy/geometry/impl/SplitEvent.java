@@ -0,0 +1,44 @@
+package de.incentergy.geometry.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("de.incentergy.geometry.Split")
+@Label("Polygon Split")
+@Category("Polysplit")
+@Description("Split of a polygon into parts of equal area, including the sanity checks")
+@StackTrace(false)
+final class SplitEvent extends Event {
+
+    @Label("Vertex Count")
+    @Description("Number of points of the polygon split")
+    int vertexCount;
+
+    @Label("Number of Parts")
+    int numberOfParts;
+
+    /**
+     * @return a started event, or null if it is not recorded
+     */
+    static SplitEvent beginIfEnabled() {
+        SplitEvent event = new SplitEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    void end(int vertexCount, int numberOfParts) {
+        end();
+        if (shouldCommit()) {
+            this.vertexCount = vertexCount;
+            this.numberOfParts = numberOfParts;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package de.incentergy.geometry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.ParseException;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.BatchPolygonSplitter.Outcome;
+import de.incentergy.geometry.impl.GreedyPolygonSplitter;
+
+public class BatchPolygonSplitterTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void outcomesAreInInputOrderAndFailuresDoNotAbortTheBatch() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        List<Polygon> polygons = Arrays.asList(
+                (Polygon) wktReader.read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))"),
+                (Polygon) wktReader.read("POLYGON ((0 0, 10 10, 10 0, 0 10, 0 0))"),             // self-intersecting, thus not valid
+                (Polygon) wktReader.read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))"));
+        GreedyPolygonSplitter splitter = new GreedyPolygonSplitter();
+
+        List<Outcome> outcomes = new BatchPolygonSplitter(splitter, 2).splitAll(polygons, polygon -> polygon.getNumPoints() - 3, executor);
+
+        assertEquals(3, outcomes.size());
+        assertEquals(splitter.split(polygons.get(0), 2), outcomes.get(0).getParts());
+        assertFalse(outcomes.get(1).isSuccessful());
+        assertTrue(outcomes.get(1).getFailure() instanceof IllegalArgumentException);
+        assertEquals(splitter.split(polygons.get(2), 4), outcomes.get(2).getParts());
+    }
+
+    @Test
+    public void numberOfPolygonsInFlightIsBounded() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+        List<Polygon> polygons = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            polygons.add(polygon);
+        }
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        PolygonSplitter splitter = (polygonToSplit, parts) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+                return new GreedyPolygonSplitter().split(polygonToSplit, parts);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+
+        List<Outcome> outcomes = new BatchPolygonSplitter(splitter, 2).splitAll(polygons, p -> 2, executor);
+
+        assertEquals(20, outcomes.size());
+        assertTrue(outcomes.stream().allMatch(Outcome::isSuccessful));
+        assertTrue("Expected at most 2 polygons in flight, but was " + maxInFlight.get(), maxInFlight.get() <= 2);
+    }
+
+    @Test
+    public void outcomesAreStreamedInInputOrderKeepingOnlyPolygonsInFlight() throws Exception {
+        List<Polygon> polygons = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            polygons.add((Polygon) new WKTReader().read("POLYGON ((0 0, " + (i + 1) + " 0, " + (i + 1) + " 1, 0 1, 0 0))"));
+        }
+        AtomicInteger submitted = new AtomicInteger();
+        Iterable<Polygon> input = () -> polygons.stream().peek(polygon -> submitted.incrementAndGet()).iterator();
+
+        List<Double> areas = new ArrayList<>();
+        AtomicInteger maxPending = new AtomicInteger();
+        new BatchPolygonSplitter(new GreedyPolygonSplitter(), 3).splitAll(input, p -> 2, executor, outcome -> {
+            maxPending.accumulateAndGet(submitted.get() - areas.size(), Math::max);
+            areas.add(outcome.getParts().get(0).getArea() + outcome.getParts().get(1).getArea());
+        });
+
+        assertEquals(20, areas.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i + 1, areas.get(i), 1e-9);
+        }
+        // the polygons in flight and the next one, which is read before waiting for the oldest one to complete
+        assertTrue("Expected at most 4 polygons read but not consumed, but was " + maxPending.get(), maxPending.get() <= 4);
+    }
+
+    @Test
+    public void inputsAreTurnedIntoPolygonsOnTheWorkerThreads() throws Exception {
+        List<String> wkts = Arrays.asList("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))", "not a polygon", "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))");
+        List<String> threadNames = new ArrayList<>();
+
+        List<Outcome> outcomes = new ArrayList<>();
+        new BatchPolygonSplitter(new GreedyPolygonSplitter(), 2).splitAll(wkts, wkt -> {
+            synchronized (threadNames) {
+                threadNames.add(Thread.currentThread().getName());
+            }
+            try {
+                return (Polygon) new WKTReader().read(wkt);
+            } catch (ParseException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }, wkt -> 2, executor, outcomes::add);
+
+        assertEquals(3, outcomes.size());
+        assertEquals(2, outcomes.get(0).getParts().size());
+        assertTrue(outcomes.get(1).getFailure().getCause() instanceof ParseException);
+        assertEquals(2, outcomes.get(2).getParts().size());
+        assertFalse(threadNames.contains(Thread.currentThread().getName()));
+    }
+}
@@ -0,0 +1,132 @@
+package de.incentergy.geometry;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.CoordinateFilter;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.CachingPolygonSplitter.Statistics;
+import de.incentergy.geometry.impl.GreedyPolygonSplitter;
+
+public class CachingPolygonSplitterTest {
+
+    private final AtomicInteger splitCount = new AtomicInteger();
+    private final PolygonSplitter countingSplitter = (polygon, parts) -> {
+        splitCount.incrementAndGet();
+        return new GreedyPolygonSplitter().split(polygon, parts);
+    };
+
+    @Test
+    public void repeatedSplitIsAnsweredWithTheSameParts() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+        CachingPolygonSplitter splitter = new CachingPolygonSplitter(countingSplitter);
+
+        List<Polygon> parts = splitter.split(polygon, 2);
+
+        assertEquals(parts, splitter.split(polygon, 2));
+        assertEquals(1, splitCount.get());
+        splitter.split(polygon, 3);
+        assertEquals(2, splitCount.get());
+
+        Statistics statistics = splitter.getStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(2, statistics.getMissCount());
+        assertEquals(2, statistics.getEntryCount());
+        assertEquals(1.0 / 3, statistics.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void startingVertexAndOrientationOfRingDoNotMatter() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        CachingPolygonSplitter splitter = new CachingPolygonSplitter(countingSplitter);
+
+        List<Polygon> parts = splitter.split((Polygon) wktReader.read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))"), 4);
+
+        assertEquals(parts, splitter.split((Polygon) wktReader.read("POLYGON ((10 10, 20 10, 20 0, 0 0, 0 30, 10 30, 10 10))"), 4));
+        assertEquals(parts, splitter.split((Polygon) wktReader.read("POLYGON ((10 30, 0 30, 0 0, 20 0, 20 10, 10 10, 10 30))"), 4));
+        assertEquals(1, splitCount.get());
+    }
+
+    @Test
+    public void negativeZeroIsTheSameCoordinateAsZero() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        CachingPolygonSplitter splitter = new CachingPolygonSplitter(countingSplitter);
+
+        splitter.split((Polygon) wktReader.read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))"), 2);
+        splitter.split((Polygon) wktReader.read("POLYGON ((-0.0 0, 100 -0.0, 90 50, 10 50, -0.0 0))"), 2);
+
+        assertEquals(1, splitCount.get());
+    }
+
+    @Test
+    public void modifyingReturnedPartsDoesNotAffectThePartsKept() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+        CachingPolygonSplitter splitter = new CachingPolygonSplitter(countingSplitter);
+        List<Polygon> expectedParts = new GreedyPolygonSplitter().split(polygon, 2);
+
+        for (int i = 0; i < 2; i++) {
+            Polygon part = splitter.split(polygon, 2).get(0);
+            part.apply((CoordinateFilter) coordinate -> coordinate.x += 1000);
+            part.geometryChanged();
+        }
+
+        assertEquals(expectedParts, splitter.split(polygon, 2));
+        assertEquals(1, splitCount.get());
+    }
+
+    @Test
+    public void leastRecentlyUsedPolygonIsEvicted() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon first = (Polygon) wktReader.read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+        Polygon second = (Polygon) wktReader.read("POLYGON ((0 0, 100 0, 100 50, 0 50, 0 0))");
+        Polygon third = (Polygon) wktReader.read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+        CachingPolygonSplitter splitter = new CachingPolygonSplitter(countingSplitter, 2, CachingPolygonSplitter.DEFAULT_MAX_WEIGHT);
+
+        splitter.split(first, 2);
+        splitter.split(second, 2);
+        splitter.split(first, 2);           // second becomes the least recently used one
+        splitter.split(third, 2);
+
+        assertEquals(1, splitter.getStatistics().getEvictionCount());
+        splitter.split(first, 2);
+        assertEquals(3, splitCount.get());
+        splitter.split(second, 2);
+        assertEquals(4, splitCount.get());
+    }
+
+    @Test
+    public void polygonsAreEvictedToKeepTheWeightWithinLimit() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon first = (Polygon) wktReader.read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+        Polygon second = (Polygon) wktReader.read("POLYGON ((0 0, 100 0, 100 50, 0 50, 0 0))");
+        CachingPolygonSplitter splitter = new CachingPolygonSplitter(countingSplitter, 10, 20);
+
+        splitter.split(first, 2);           // polygon of 5 coordinates and two parts of 5 coordinates each
+        splitter.split(second, 2);
+        splitter.split(second, 4);          // heavier than the limit, not kept
+
+        Statistics statistics = splitter.getStatistics();
+        assertEquals(1, statistics.getEvictionCount());
+        assertEquals(1, statistics.getEntryCount());
+        assertEquals(15, statistics.getWeight());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void partsKeptCannotBeModified() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+        CachingPolygonSplitter splitter = new CachingPolygonSplitter(countingSplitter);
+
+        splitter.split(polygon, 2).clear();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxEntriesShouldBePositive() {
+        new CachingPolygonSplitter(countingSplitter, 0, CachingPolygonSplitter.DEFAULT_MAX_WEIGHT);
+    }
+}
@@ -0,0 +1,65 @@
+package de.incentergy.geometry.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.io.WKBWriter;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.cli.RecordFormat.RecordFormatException;
+import de.incentergy.geometry.cli.RecordFormat.RecordReader;
+
+public class RecordFormatTest {
+
+    @Test
+    public void wkbInputEndsBetweenRecords() throws Exception {
+        byte[] input = wkbRecord("first", 4, new WKBWriter().write(new WKTReader().read("POLYGON ((0 0, 100 0, 100 50, 0 50, 0 0))")));
+
+        RecordReader reader = RecordFormat.WKB.newReader(new ByteArrayInputStream(input));
+
+        assertEquals(4, reader.read().getNumberOfParts());
+        assertNull(reader.read());
+    }
+
+    @Test(expected = RecordFormatException.class)
+    public void wkbInputTruncatedWithinIdIsAnError() throws Exception {
+        byte[] input = wkbRecord("first", 4, new byte[0]);
+
+        RecordFormat.WKB.newReader(new ByteArrayInputStream(Arrays.copyOf(input, 4))).read();
+    }
+
+    @Test(expected = RecordFormatException.class)
+    public void wkbLengthLongerThanTheLimitIsAnError() throws Exception {
+        byte[] input = wkbRecord("first", 4, new byte[0]);
+        input[input.length - 4] = 0x7F;             // length of 0x7F000000 bytes
+
+        RecordFormat.WKB.newReader(new ByteArrayInputStream(input)).read();
+    }
+
+    @Test(expected = RecordFormatException.class)
+    public void wkbLongerThanTheRemainingInputIsAnError() throws Exception {
+        byte[] input = wkbRecord("first", 4, new byte[10]);
+        input[input.length - 14] = 0x0F;            // length of almost 256 MiB, with just 10 bytes following
+
+        RecordFormat.WKB.newReader(new ByteArrayInputStream(input)).read();
+    }
+
+    private static byte[] wkbRecord(String id, int numberOfParts, byte[] wkb) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(id);
+            out.writeInt(numberOfParts);
+            out.writeInt(wkb.length);
+            out.write(wkb);
+        }
+        return bytes.toByteArray();
+    }
+}
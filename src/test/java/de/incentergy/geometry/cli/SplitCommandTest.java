@@ -0,0 +1,166 @@
+package de.incentergy.geometry.cli;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.io.WKBReader;
+import com.vividsolutions.jts.io.WKBWriter;
+import com.vividsolutions.jts.io.WKTReader;
+
+public class SplitCommandTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+    @Test
+    public void wktRecordsAreSplitInInputOrder() throws Exception {
+        String input = "a\t2\tPOLYGON ((0 0, 100 0, 100 50, 0 50, 0 0))\n"
+                + "\n"
+                + "b\t3\tPOLYGON ((0 0, 90 0, 90 30, 0 30, 0 0))\n";
+
+        int status = run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), "--threads", "2", "--max-in-flight", "1");
+
+        assertEquals(SplitCommand.EXIT_OK, status);
+        String[] lines = new String(stdout.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, lines.length);
+        WKTReader wktReader = new WKTReader();
+        String[] expectedPrefixes = { "a\t0\t", "a\t1\t", "b\t0\t", "b\t1\t", "b\t2\t" };
+        double[] expectedAreas = { 2500, 2500, 900, 900, 900 };
+        for (int i = 0; i < lines.length; i++) {
+            assertTrue(lines[i], lines[i].startsWith(expectedPrefixes[i]));
+            assertEquals(expectedAreas[i], wktReader.read(lines[i].substring(expectedPrefixes[i].length())).getArea(), 1e-6);
+        }
+    }
+
+    @Test
+    public void recordsWhichFailToSplitAreReportedAndSkipped() throws Exception {
+        String input = "broken\t2\tPOLYGON ((0 0, 100 0\n"
+                + "line\t2\tLINESTRING (0 0, 10 10)\n"
+                + "ok\t2\tPOLYGON ((0 0, 100 0, 100 50, 0 50, 0 0))\n";
+
+        int status = run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(SplitCommand.EXIT_FAILED_RECORDS, status);
+        assertEquals(2, new String(stdout.toByteArray(), StandardCharsets.UTF_8).split("\n").length);
+        String failures = new String(stderr.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(failures, failures.contains("broken: "));
+        assertTrue(failures, failures.contains("line: "));
+    }
+
+    @Test
+    public void wkbRecordsAreReadFromMappedFile() throws Exception {
+        Path input = temporaryFolder.newFile().toPath();
+        Geometry polygon = new WKTReader().read("POLYGON ((0 0, 100 0, 100 50, 0 50, 0 0))");
+        byte[] wkb = new WKBWriter().write(polygon);
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(input))) {
+            for (String id : new String[] { "first", "second" }) {
+                out.writeUTF(id);
+                out.writeInt(4);
+                out.writeInt(wkb.length);
+                out.write(wkb);
+            }
+        }
+
+        int status = run(System.in, "--format", "wkb", "--input", input.toString());
+
+        assertEquals(SplitCommand.EXIT_OK, status);
+        DataInputStream parts = new DataInputStream(new ByteArrayInputStream(stdout.toByteArray()));
+        for (int i = 0; i < 8; i++) {
+            assertEquals(i < 4 ? "first" : "second", parts.readUTF());
+            assertEquals(i % 4, parts.readInt());
+            byte[] part = new byte[parts.readInt()];
+            parts.readFully(part);
+            assertEquals(1250, new WKBReader().read(part).getArea(), 1e-6);
+        }
+        assertEquals(-1, parts.read());
+    }
+
+    @Test
+    public void malformedInputIsAnError() {
+        String input = "a\t2\tPOLYGON ((0 0, 100 0, 100 50, 0 50, 0 0))\n"
+                + "no tabs here\n";
+
+        int status = run(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(SplitCommand.EXIT_ERROR, status);
+        assertEquals(2, new String(stdout.toByteArray(), StandardCharsets.UTF_8).split("\n").length);
+    }
+
+    @Test
+    public void stdinAndStdoutAreLeftOpen() {
+        boolean[] closed = new boolean[2];
+        InputStream stdin = new ByteArrayInputStream("a\t2\tPOLYGON ((0 0, 100 0, 100 50, 0 50, 0 0))\n".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        OutputStream stdout = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[1] = true;
+            }
+        };
+
+        int status = SplitCommand.run(new String[0], stdin, stdout, new PrintStream(stderr, true));
+
+        assertEquals(SplitCommand.EXIT_OK, status);
+        assertFalse(closed[0]);
+        assertFalse(closed[1]);
+    }
+
+    @Test
+    public void unknownOptionIsAUsageError() {
+        assertEquals(SplitCommand.EXIT_USAGE, run(System.in, "--parts", "4"));
+    }
+
+    @Test
+    public void mappedFileIsReadAcrossRegions() throws Exception {
+        Path file = temporaryFolder.newFile().toPath();
+        byte[] content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.write(file, content);
+
+        byte[] read = new byte[content.length];
+        try (InputStream in = new MappedFileInputStream(file, 64)) {
+            new DataInputStream(in).readFully(read);
+            assertEquals(-1, in.read());
+        }
+        assertArrayEquals(content, read);
+    }
+
+    @Test(expected = EOFException.class)
+    public void emptyMappedFileHasNoBytes() throws Exception {
+        try (InputStream in = new MappedFileInputStream(temporaryFolder.newFile().toPath())) {
+            new DataInputStream(in).readByte();
+        }
+    }
+
+    private int run(InputStream stdin, String... args) {
+        return SplitCommand.run(args, stdin, stdout, new PrintStream(stderr, true));
+    }
+}
@@ -0,0 +1,46 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.impl.EdgePair.EdgePairSubpolygons;
+
+public class EdgePairCacheTest {
+
+    private final EdgePairCache edgePairCache = new EdgePairCache(100);
+
+    @Test
+    public void subpolygonsAreBuiltOnceForTheSameEdges() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 10 0, 20 0, 20 10, 10 10, 0 10, 0 0))");
+
+        EdgePairSubpolygons subpolygons = new IndexedPolygon(polygon, edgePairCache, null).getSubpolygons(0, 4);
+
+        assertSame(subpolygons, new IndexedPolygon(polygon, edgePairCache, null).getSubpolygons(0, 4));
+        assertEquals(new IndexedPolygon(polygon).getSubpolygons(0, 4).toString(), subpolygons.toString());
+    }
+
+    @Test
+    public void onlyPairsHavingEdgesOfTheCutAwayPartAreInvalidated() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 10 0, 20 0, 20 10, 10 10, 0 10, 0 0))");
+        IndexedPolygon indexedPolygon = new IndexedPolygon(polygon, edgePairCache, null);
+        EdgePairSubpolygons untouched = indexedPolygon.getSubpolygons(4, 5);
+        indexedPolygon.getSubpolygons(1, 4);           // segment 1 is split by the cut
+        indexedPolygon.getSubpolygons(2, 4);           // segment 2 is cut away
+        assertEquals(3, edgePairCache.size());
+
+        Cut cut = new Cut(new LineSegment(new Coordinate(15, 0), new Coordinate(15, 10)), indexedPolygon, 1, 3);
+        edgePairCache.invalidate(cut);
+
+        // the remainder starts at the end of line of cut: segments 4 and 5 of the polygon are segments 1 and 2 of the remainder
+        assertEquals(1, edgePairCache.size());
+        IndexedPolygon remainder = new IndexedPolygon(cut.getRemainder(), edgePairCache, null);
+        assertSame(untouched, remainder.getSubpolygons(1, 2));
+    }
+}
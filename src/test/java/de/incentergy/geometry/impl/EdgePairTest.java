@@ -20,6 +20,7 @@ import com.vividsolutions.jts.io.WKTReader;
 
 import de.incentergy.geometry.impl.EdgePair.EdgePairSubpolygons;
 import de.incentergy.geometry.utils.GeometryFactoryUtils;
+import de.incentergy.geometry.utils.GeometryUtils;
 
 @RunWith(Enclosed.class)
 public class EdgePairTest {
@@ -261,6 +262,43 @@ public class EdgePairTest {
             assertCutEquals(expectedLengthOfCut, expectedCut2Shape, areaToCutOff, cuts.get(1));
         }
 
+        @Test
+        public void cutsInTrapezoidWithNonParallelEdges() throws Exception {
+            Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+            LineSegment edgeA = new LineSegment(new Coordinate(100, 0), new Coordinate(90, 50));
+            LineSegment edgeB = new LineSegment(new Coordinate(10, 50), new Coordinate(0, 0));
+            double areaToCutOff = 1500;
+
+            List<Cut> cuts = new EdgePair(edgeA, edgeB).getSubpolygons().getCuts(polygon, areaToCutOff);
+            assertEquals("Expected cut count", 2, cuts.size());
+            assertEquals("Expected cutaway area", areaToCutOff, cuts.get(0).getCutAway().getArea(), SMALL_DELTA_PRECISION);
+            assertEquals("Expected cutaway area", areaToCutOff, cuts.get(1).getCutAway().getArea(), SMALL_DELTA_PRECISION);
+        }
+
+        @Test
+        public void cutsOfConcavePolygonEndOnTheirEdgesAndCutAwayTheArea() throws Exception {
+            Polygon star = (Polygon) new WKTReader().read("POLYGON ((959.786 264.561, 523.477 454.668, 352.306 526.126, 14.619 334.269, "
+                    + "-214.875 674.176, -605.513 660.256, -359.339 287.3, -385.266 131.934, -938.716 -262.568, -344.806 -308.752, -491.471 -542.003, "
+                    + "-98.563 -719.507, 142.968 -451.226, 385.892 -799.272, 637.665 -453.179, 833.199 -206.304, 959.786 264.561))");
+            IndexedPolygon indexedPolygon = new IndexedPolygon(star);
+            List<LineSegment> segments = indexedPolygon.getSegments();
+
+            for (int parts = 2; parts <= 8; parts++) {
+                double areaToCutOff = star.getArea() / parts;
+                for (int a = 0; a < segments.size(); a++) {
+                    for (int b = a + 1; b < segments.size(); b++) {
+                        // e.g. the trapezoid of edges 3 and 7 has a root of the quadratic equation at -0.78, as well as the one at 0.96
+                        for (Cut cut : new EdgePair(indexedPolygon, a, b).getSubpolygons().getCuts(indexedPolygon, a, b, areaToCutOff)) {
+                            LineSegment lineOfCut = cut.getLineOfCut();
+                            assertTrue(lineOfCut.toString(), GeometryUtils.isPointOnLineSegment(lineOfCut.p0, segments.get(cut.getStartSegment())));
+                            assertTrue(lineOfCut.toString(), GeometryUtils.isPointOnLineSegment(lineOfCut.p1, segments.get(cut.getEndSegment())));
+                            assertEquals("Expected cutaway area", areaToCutOff, cut.getCutAway().getArea(), 1e-9 * areaToCutOff);
+                        }
+                    }
+                }
+            }
+        }
+
         private void assertCutEquals(double expectedCutLength, Polygon expectedCutawayShape, double expectedCutawayArea, Cut actualCut) {
             assertEquals("Expected cut length", expectedCutLength, actualCut.getLength(), EXACT_PRECISION);
             assertTrue("Expected cutaway shape", expectedCutawayShape.equalsTopo(actualCut.getCutAway()));
@@ -1,15 +1,31 @@
 package de.incentergy.geometry.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.LineSegment;
 import com.vividsolutions.jts.geom.Polygon;
 import com.vividsolutions.jts.io.WKTReader;
 
 import de.incentergy.geometry.PolygonSplitter;
+import de.incentergy.geometry.SplitListener;
+import de.incentergy.geometry.SplitListener.IterationMetrics;
+import de.incentergy.geometry.SplitListener.Rejection;
+import de.incentergy.geometry.SplitListener.SplitMetrics;
+import de.incentergy.geometry.SplitResult;
 
 public class PolygonSplitterTest {
 
@@ -23,7 +39,7 @@ public class PolygonSplitterTest {
 
         assertEquals(2, parts.size());
         assertPolygonEquals("POLYGON ((50 0, 100 0, 90 50, 50 50, 50 0))", parts.get(0));
-        assertPolygonEquals("POLYGON ((50 0, 0 0, 10 50, 50 50, 50 0))", parts.get(1));
+        assertPolygonEquals("POLYGON ((50 50, 10 50, 0 0, 50 0, 50 50))", parts.get(1));
     }
 
     @Test
@@ -37,7 +53,7 @@ public class PolygonSplitterTest {
         assertPolygonEquals("POLYGON ((0 20, 0 30, 10 30, 10 20, 0 20))", parts.get(0));
         assertPolygonEquals("POLYGON ((0 10, 0 20, 10 20, 10 10, 0 10))", parts.get(1));
         assertPolygonEquals("POLYGON ((10 10, 20 10, 20 0, 10 0, 10 10))", parts.get(2));
-        assertPolygonEquals("POLYGON ((0 0, 0 10, 10 10, 10 0, 0 0))", parts.get(3));
+        assertPolygonEquals("POLYGON ((10 0, 0 0, 0 10, 10 10, 10 0))", parts.get(3));
     }
 
     @Test
@@ -55,8 +71,246 @@ public class PolygonSplitterTest {
         assertEquals(expectedPartArea, parts.get(2).getArea(), expectedDelta);
     }
 
+    @Test
+    public void splitConvexPolygonWithManyVertices() throws Exception {
+        // octagon with collinear vertices added in the middle of each side
+        Polygon polygon = (Polygon) new WKTReader().read(
+                "POLYGON ((10 0, 20 0, 30 0, 35 5, 40 10, 40 20, 40 30, 35 35, 30 40, 20 40, 10 40, 5 35, 0 30, 0 20, 0 10, 5 5, 10 0))");
+
+        List<Polygon> parts = polygonSplitter.split(polygon, 5);
+
+        assertEquals(5, parts.size());
+        for (Polygon part : parts) {
+            assertEquals(polygon.getArea() / 5, part.getArea(), 1e-9);
+        }
+    }
+
+    @Test
+    public void splitRegularPolygonWithNearlyParallelEdges() throws Exception {
+        // opposite edges are parallel, but rounding errors make their lines intersect far away
+        Polygon polygon = regularPolygon(32, 1000);
+
+        List<Polygon> parts = new GreedyPolygonSplitter().withValidationPolicy(ValidationPolicy.NONE).split(polygon, 2);
+
+        assertEquals(2, parts.size());
+        for (Polygon part : parts) {
+            assertEquals(polygon.getArea() / 2, part.getArea(), 1e-9 * polygon.getArea());
+        }
+    }
+
+    @Test
+    public void concavePolygonIsSplitWithinItOrNotAtAll() throws Exception {
+        Polygon star = (Polygon) new WKTReader().read("POLYGON ((959.786 264.561, 523.477 454.668, 352.306 526.126, 14.619 334.269, "
+                + "-214.875 674.176, -605.513 660.256, -359.339 287.3, -385.266 131.934, -938.716 -262.568, -344.806 -308.752, -491.471 -542.003, "
+                + "-98.563 -719.507, 142.968 -451.226, 385.892 -799.272, 637.665 -453.179, 833.199 -206.304, 959.786 264.561))");
+        Geometry starWithinRoundingError = star.buffer(1e-6);
+        GreedyPolygonSplitter splitter = new GreedyPolygonSplitter().withValidationPolicy(ValidationPolicy.NONE);
+
+        for (int numberOfParts = 2; numberOfParts <= 8; numberOfParts++) {
+            List<Polygon> parts;
+            try {
+                parts = splitter.split(star, numberOfParts);
+            } catch (NoSuchElementException e) {
+                continue;           // the greedy cuts may leave a remainder which cannot be cut within it
+            }
+            for (Polygon part : parts) {
+                assertTrue(part.toString(), starWithinRoundingError.covers(part));
+                assertEquals(star.getArea() / numberOfParts, part.getArea(), 1e-9 * star.getArea());
+            }
+            List<Polygon> lazyParts = splitter.splitLazily(star, numberOfParts).getParts();
+            for (int i = 0; i < parts.size(); i++) {
+                assertTrue(lazyParts.get(i).toString(), lazyParts.get(i).equalsExact(parts.get(i), 1e-9));
+            }
+        }
+    }
+
+    @Test
+    public void splitPolygonWithManyVerticesUsingSimplification() throws Exception {
+        // rectangle whose top side is a jagged line of 400 vertices
+        StringBuilder wkt = new StringBuilder("POLYGON ((0 0, 1000 0");
+        for (int k = 0; k < 400; k++) {
+            double x = 1000 - k * 2.5;
+            wkt.append(", ").append(x).append(' ').append(300 + 40 * Math.sin(x / 70) + (k % 2) * 0.5);
+        }
+        wkt.append(", 0 0))");
+        Polygon polygon = (Polygon) new WKTReader().read(wkt.toString());
+        GreedyPolygonSplitter simplifyingSplitter = new GreedyPolygonSplitter().withSimplificationTolerance(1);
+
+        List<Polygon> parts = simplifyingSplitter.split(polygon, 4);
+
+        assertEquals(4, parts.size());
+        for (Polygon part : parts) {
+            assertEquals(polygon.getArea() / 4, part.getArea(), 1e-7);
+        }
+    }
+
+    @Test
+    public void parallelSplitProducesSameParts() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon polygon = (Polygon) wktReader.read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+        PolygonSplitter parallelSplitter = new GreedyPolygonSplitter().parallel().withParallelismThreshold(1);
+
+        List<Polygon> expectedParts = polygonSplitter.split(polygon, 4);
+        List<Polygon> parts = parallelSplitter.split(polygon, 4);
+
+        assertEquals(expectedParts.toString(), parts.toString());
+    }
+
+    @Test
+    public void validationPolicyDoesNotChangeTheParts() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon polygon = (Polygon) wktReader.read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+
+        List<Polygon> expectedParts = polygonSplitter.split(polygon, 4);
+        for (ValidationPolicy policy : new ValidationPolicy[] { ValidationPolicy.NONE, ValidationPolicy.AREA_ONLY, ValidationPolicy.TOPOLOGY, ValidationPolicy.sampled(2) }) {
+            List<Polygon> parts = new GreedyPolygonSplitter().withValidationPolicy(policy).split(polygon, 4);
+            assertEquals(policy.toString(), expectedParts.toString(), parts.toString());
+        }
+    }
+
+    @Test
+    public void streamProducesSamePartsAsSplit() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon polygon = (Polygon) wktReader.read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+
+        List<Polygon> expectedParts = polygonSplitter.split(polygon, 4);
+        List<Polygon> parts = new GreedyPolygonSplitter().splitAsStream(polygon, 4).collect(Collectors.toList());
+
+        assertEquals(expectedParts.toString(), parts.toString());
+    }
+
+    @Test
+    public void streamProducesPartsLazily() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon polygon = (Polygon) wktReader.read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+
+        Iterator<Polygon> parts = new GreedyPolygonSplitter().splitAsStream(polygon, 4).iterator();
+
+        assertPolygonEquals("POLYGON ((0 20, 0 30, 10 30, 10 20, 0 20))", parts.next());
+    }
+
+    @Test
+    public void splitWithinAmpleTimeBudgetIsOptimal() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon polygon = (Polygon) wktReader.read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+
+        List<Polygon> expectedParts = polygonSplitter.split(polygon, 4);
+        SplitResult result = new GreedyPolygonSplitter().split(polygon, 4, Duration.ofMinutes(1));
+
+        assertTrue(result.isOptimal());
+        assertEquals(expectedParts.toString(), result.getParts().toString());
+    }
+
+    @Test
+    public void partsAreRebuiltFromChordsOfTheResult() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon polygon = (Polygon) wktReader.read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+
+        SplitResult result = new GreedyPolygonSplitter().split(polygon, 6, Duration.ofMinutes(1));
+        SplitResult rebuilt = new SplitResult(result.getPolygon(), result.getChords(), result.isOptimal());
+
+        assertEquals(5, rebuilt.getChords().size());
+        assertEquals(6, rebuilt.getParts().size());
+        for (int i = 0; i < 6; i++) {
+            assertTrue(rebuilt.getParts().get(i).toString(), rebuilt.getParts().get(i).equalsExact(result.getParts().get(i), 1e-9));
+        }
+    }
+
+    @Test
+    public void lazySplitProvidesLinesOfCutAndAreasWithoutBuildingParts() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+
+        SplitResult result = new GreedyPolygonSplitter().splitLazily(polygon, 2);
+
+        assertEquals(1, result.getLinesOfCut().size());
+        assertTrue(result.getLinesOfCut().get(0).equalsTopo(new LineSegment(50, 0, 50, 50)));
+        assertEquals(50, result.getTotalCutLength(), 1e-9);
+        assertEquals(2, result.getNumberOfParts());
+        assertEquals(2250, result.getTargetArea(), 1e-9);
+        assertEquals(2250, result.getPartArea(0), 1e-9);
+        assertEquals(0, result.getMaxAreaDeviation(), 1e-12);
+        assertEquals(polygonSplitter.split(polygon, 2).toString(), result.getParts().toString());
+    }
+
+    @Test
+    public void splitWithoutTimeBudgetTakesFirstCutsFound() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon polygon = (Polygon) wktReader.read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+
+        SplitResult result = new GreedyPolygonSplitter().split(polygon, 4, Duration.ZERO);
+
+        // edge pairs closer to each other are evaluated first, but a cut between them is not necessarily the shortest one
+        assertFalse(result.isOptimal());
+        assertEquals(4, result.getParts().size());
+        for (Polygon part : result.getParts()) {
+            assertEquals(100, part.getArea(), 1e-9);
+        }
+    }
+
+    @Test
+    public void listenerReceivesMetricsOfEachIterationAndOfTheSplit() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+        List<IterationMetrics> iterations = new ArrayList<>();
+        List<SplitMetrics> splits = new ArrayList<>();
+        SplitListener listener = new SplitListener() {
+            @Override
+            public void iterationCompleted(IterationMetrics metrics) {
+                iterations.add(metrics);
+            }
+
+            @Override
+            public void splitCompleted(SplitMetrics metrics) {
+                splits.add(metrics);
+            }
+        };
+
+        List<Polygon> parts = new GreedyPolygonSplitter().withListener(listener).split(polygon, 4);
+
+        assertEquals(polygonSplitter.split(polygon, 4), parts);
+        assertEquals(3, iterations.size());
+        for (int i = 0; i < iterations.size(); i++) {
+            IterationMetrics metrics = iterations.get(i);
+            assertEquals(i, metrics.getIteration());
+            assertTrue(metrics.getEdgePairCount() > 0);
+            assertTrue(metrics.getCandidateCutCount() > 0);
+        }
+        // the L-shaped polygon is cut through its reflex vertex: a line of cut ending there runs along one of the edges of the pair
+        assertEquals(1, iterations.get(0).getRejectedCount(Rejection.LINE_OF_CUT_DEGENERATE));
+        assertEquals(0, iterations.get(0).getRejectedCount(Rejection.LINE_OF_CUT_CROSSING_RING));
+        assertEquals(1, splits.size());
+        assertEquals(4, splits.get(0).getNumberOfParts());
+        assertTrue(splits.get(0).getTotalNanos() >= splits.get(0).getSanityCheckNanos());
+    }
+
+    @Test
+    public void listenerReceivesRejectionsOfLinesOfCutCrossingTheRing() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 30 0, 30 30, 20 30, 20 10, 10 10, 10 30, 0 30, 0 0))");
+        List<IterationMetrics> iterations = new ArrayList<>();
+        SplitListener listener = new SplitListener() {
+            @Override
+            public void iterationCompleted(IterationMetrics metrics) {
+                iterations.add(metrics);
+            }
+        };
+
+        new GreedyPolygonSplitter().withListener(listener).split(polygon, 4);
+
+        // the U-shaped polygon is concave: a line of cut between its arms goes across the gap between them
+        assertEquals(2, iterations.get(0).getRejectedCount(Rejection.LINE_OF_CUT_CROSSING_RING));
+        assertEquals(0, iterations.get(0).getRejectedCount(Rejection.LINE_OF_CUT_DEGENERATE));
+    }
+
     private static void assertPolygonEquals(String expectedPolygonWkt, Polygon actual) {
         assertEquals(expectedPolygonWkt, actual.toString());
     }
 
+
+    private static Polygon regularPolygon(int vertexCount, double radius) {
+        Coordinate[] ring = new Coordinate[vertexCount + 1];
+        for (int i = 0; i < vertexCount; i++) {
+            ring[i] = new Coordinate(radius * Math.cos(2 * Math.PI * i / vertexCount), radius * Math.sin(2 * Math.PI * i / vertexCount));
+        }
+        ring[vertexCount] = ring[0];
+        return new GeometryFactory().createPolygon(ring);
+    }
 }
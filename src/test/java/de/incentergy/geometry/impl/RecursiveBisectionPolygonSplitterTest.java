@@ -0,0 +1,58 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.PolygonSplitter;
+
+public class RecursiveBisectionPolygonSplitterTest {
+
+    private final PolygonSplitter polygonSplitter = new RecursiveBisectionPolygonSplitter();
+
+    @Test
+    public void splitTrapeziumInHalf() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+
+        List<Polygon> parts = polygonSplitter.split(polygon, 2);
+
+        assertEquals(2, parts.size());
+        assertPolygonEquals("POLYGON ((50 0, 100 0, 90 50, 50 50, 50 0))", parts.get(0));
+        assertPolygonEquals("POLYGON ((50 50, 10 50, 0 0, 50 0, 50 50))", parts.get(1));
+    }
+
+    @Test
+    public void splitLShapedPolygonIn4Parts() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0 0))");
+
+        List<Polygon> parts = polygonSplitter.split(polygon, 4);
+
+        // the first cut splits the polygon in half, then each half is split in half
+        assertEquals(4, parts.size());
+        assertPolygonEquals("POLYGON ((0 20, 0 30, 10 30, 10 20, 0 20))", parts.get(0));
+        assertPolygonEquals("POLYGON ((10 20, 10 10, 0 10, 0 20, 10 20))", parts.get(1));
+        assertPolygonEquals("POLYGON ((10 10, 20 10, 20 0, 10 0, 10 10))", parts.get(2));
+        assertPolygonEquals("POLYGON ((10 0, 0 0, 0 10, 10 10, 10 0))", parts.get(3));
+    }
+
+    @Test
+    public void splitRectangleInOddNumberOfParts() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 70 0, 70 10, 0 10, 0 0))");
+
+        List<Polygon> parts = polygonSplitter.split(polygon, 7);
+
+        assertEquals(7, parts.size());
+        for (Polygon part : parts) {
+            assertEquals(100, part.getArea(), 1e-9);
+        }
+    }
+
+    private static void assertPolygonEquals(String expectedPolygonWkt, Polygon actual) {
+        assertEquals(expectedPolygonWkt, actual.toString());
+    }
+}
@@ -0,0 +1,76 @@
+package de.incentergy.geometry.impl;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+public class SanityChecksTest {
+
+    @Test
+    public void unionOfPartsOfLargePolygonIsCheckedRelativeToItsArea() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon polygon = (Polygon) wktReader.read("POLYGON ((0 0, 10000 0, 10000 10000, 0 10000, 0 0))");
+        // the parts overlap by a sliver of 1e-6 in area, far below the precision of coordinates of this magnitude
+        Polygon left = (Polygon) wktReader.read("POLYGON ((0 0, 5000.0000000001 0, 5000.0000000001 10000, 0 10000, 0 0))");
+        Polygon right = (Polygon) wktReader.read("POLYGON ((5000 0, 10000 0, 10000 10000, 5000 10000, 5000 0))");
+
+        SanityChecks.checkUnion(Arrays.asList(left, right), polygon);
+    }
+
+    @Test
+    public void partsOfRegularPolygonMakeUpThePolygon() throws Exception {
+        // JTS reports a symmetric difference of a sizable area between the union of these parts and the polygon
+        Coordinate[] ring = new Coordinate[19];
+        for (int i = 0; i < 18; i++) {
+            ring[i] = new Coordinate(10 * Math.cos(2 * Math.PI * i / 18), 10 * Math.sin(2 * Math.PI * i / 18));
+        }
+        ring[18] = ring[0];
+        Polygon polygon = new GeometryFactory().createPolygon(ring);
+
+        List<Polygon> parts = new GreedyPolygonSplitter().withValidationPolicy(ValidationPolicy.AREA_ONLY).split(polygon, 3);
+
+        SanityChecks.checkUnion(parts, polygon);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void overlappingPartsAreDetected() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon polygon = (Polygon) wktReader.read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))");
+        // total area is the same as the area of the polygon, but the parts overlap instead of covering it
+        Polygon left = (Polygon) wktReader.read("POLYGON ((0 0, 6 0, 6 10, 0 10, 0 0))");
+        Polygon right = (Polygon) wktReader.read("POLYGON ((4 0, 8 0, 8 10, 4 10, 4 0))");
+
+        SanityChecks.checkUnion(Arrays.asList(left, right), polygon);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void partsStickingOutOfThePolygonAreDetected() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon polygon = (Polygon) wktReader.read("POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0))");
+        // total area is the same as the area of the polygon and the parts do not overlap, but the right one is shifted out of the polygon
+        Polygon left = (Polygon) wktReader.read("POLYGON ((0 0, 5 0, 5 10, 0 10, 0 0))");
+        Polygon right = (Polygon) wktReader.read("POLYGON ((5 1, 10 1, 10 11, 5 11, 5 1))");
+
+        SanityChecks.checkUnion(Arrays.asList(left, right), polygon);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void missingPartOfSmallPolygonIsDetected() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon polygon = (Polygon) wktReader.read("POLYGON ((0 0, 0.00001 0, 0.00001 0.00001, 0 0.00001, 0 0))");
+        Polygon left = (Polygon) wktReader.read("POLYGON ((0 0, 0.000005 0, 0.000005 0.00001, 0 0.00001, 0 0))");
+
+        SanityChecks.checkUnion(Arrays.asList(left), polygon);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void areaOfPartsOfSmallPolygonIsCheckedRelativeToItsArea() {
+        SanityChecks.checkArea(0.5e-10, 1e-10);
+    }
+}
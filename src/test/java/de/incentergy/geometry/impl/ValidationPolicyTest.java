@@ -0,0 +1,35 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import de.incentergy.geometry.impl.ValidationPolicy.Level;
+
+public class ValidationPolicyTest {
+
+    @Test
+    public void fixedPoliciesAlwaysUseTheSameLevel() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Level.NONE, ValidationPolicy.NONE.nextLevel());
+            assertEquals(Level.AREA_ONLY, ValidationPolicy.AREA_ONLY.nextLevel());
+            assertEquals(Level.TOPOLOGY, ValidationPolicy.TOPOLOGY.nextLevel());
+            assertEquals(Level.FULL, ValidationPolicy.FULL.nextLevel());
+        }
+    }
+
+    @Test
+    public void sampledPolicyChecksFullyOneInNCalls() {
+        ValidationPolicy policy = ValidationPolicy.sampled(3);
+
+        assertEquals(Level.FULL, policy.nextLevel());
+        assertEquals(Level.AREA_ONLY, policy.nextLevel());
+        assertEquals(Level.AREA_ONLY, policy.nextLevel());
+        assertEquals(Level.FULL, policy.nextLevel());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void sampleRateMustBePositive() {
+        ValidationPolicy.sampled(0);
+    }
+}
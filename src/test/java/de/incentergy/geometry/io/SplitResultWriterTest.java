@@ -0,0 +1,163 @@
+package de.incentergy.geometry.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKBWriter;
+import com.vividsolutions.jts.io.WKTReader;
+
+import de.incentergy.geometry.SplitResult;
+import de.incentergy.geometry.impl.GreedyPolygonSplitter;
+
+public class SplitResultWriterTest {
+
+    @Test
+    public void resultsAreReadBackWithinPrecision() throws Exception {
+        WKTReader wktReader = new WKTReader();
+        Polygon first = (Polygon) wktReader.read("POLYGON ((0.1234567 0, 0 30, 10 30, 10 10, 20 10, 20 0, 0.1234567 0))");
+        Polygon second = (Polygon) wktReader.read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+        SplitResult firstResult = new GreedyPolygonSplitter().split(first, 5, Duration.ofMinutes(1));
+        SplitResult optimalResult = new GreedyPolygonSplitter().split(second, 3, Duration.ofMinutes(1));
+        SplitResult secondResult = new SplitResult(second, optimalResult.getChords(), false);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SplitResultWriter writer = new SplitResultWriter(bytes, 1e6)) {
+            writer.write(firstResult);
+            writer.write(secondResult);
+        }
+
+        try (SplitResultReader reader = new SplitResultReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(1e6, reader.getScale(), 0);
+            assertPartsEqual(firstResult, reader.read());
+            SplitResult secondRead = reader.read();
+            assertPartsEqual(secondResult, secondRead);
+            assertFalse(secondRead.isOptimal());
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    public void encodingIsSmallerThanWkbOfTheParts() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+        SplitResult result = new GreedyPolygonSplitter().split(polygon, 8, Duration.ofMinutes(1));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SplitResultWriter writer = new SplitResultWriter(bytes, 1000)) {
+            writer.write(result);
+        }
+
+        int wkbSize = 0;
+        for (Polygon part : result.getParts()) {
+            wkbSize += new WKBWriter().write(part).length;
+        }
+        assertTrue(bytes.size() + " bytes", bytes.size() * 4 < wkbSize);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void resultWithoutChordsCannotBeWritten() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+        List<Polygon> parts = Collections.singletonList(polygon);
+
+        try (SplitResultWriter writer = new SplitResultWriter(new ByteArrayOutputStream(), 1000)) {
+            writer.write(new SplitResult(parts, true));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void otherStreamsAreNotRead() throws Exception {
+        new SplitResultReader(new ByteArrayInputStream("POLYGON EMPTY".getBytes("UTF-8")));
+    }
+
+    @Test
+    public void chordsAreReadWithinTheSegmentsOfTheRemainder() throws Exception {
+        // diagonal from vertex 0 to vertex 2 leaves a triangle, whose segments 0 and 1 are then cut in the middle
+        byte[] bytes = squareSplitBy(2, 0, 0, 2, 0, 0, 2, 2, 1, 2, 2);
+
+        try (SplitResultReader reader = new SplitResultReader(new ByteArrayInputStream(bytes))) {
+            assertEquals(3, reader.read().getParts().size());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void segmentBeyondTheRemainderIsAnError() throws Exception {
+        // segment 3 exists in the square, but not in the triangle left by the diagonal
+        byte[] bytes = squareSplitBy(2, 0, 0, 2, 0, 0, 2, 2, 3, 2, 2);
+
+        new SplitResultReader(new ByteArrayInputStream(bytes)).read();
+    }
+
+    @Test(expected = IOException.class)
+    public void pointBeyondItsSegmentIsAnError() throws Exception {
+        byte[] bytes = squareSplitBy(1, 0, 4, 2, 2, 0);        // start point at 3 / 2 of segment 0
+
+        new SplitResultReader(new ByteArrayInputStream(bytes)).read();
+    }
+
+    @Test(expected = IOException.class)
+    public void pointOnSegmentWithoutStepsIsAnError() throws Exception {
+        byte[] bytes = squareSplitBy(1, 0, 2, 0, 2, 0);
+
+        new SplitResultReader(new ByteArrayInputStream(bytes)).read();
+    }
+
+    @Test(expected = IOException.class)
+    public void tooManyVerticesIsAnError() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = header(bytes)) {
+            Varints.writeUnsigned(out, SplitResultReader.MAX_VERTEX_COUNT + 1L);
+        }
+
+        new SplitResultReader(new ByteArrayInputStream(bytes.toByteArray())).read();
+    }
+
+    /**
+     * @param values segments and encoded points of the chords
+     * @return a result of a square with side of 10 at scale 1, split by the given chords
+     */
+    private static byte[] squareSplitBy(int chordCount, long... values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = header(bytes)) {
+            Varints.writeUnsigned(out, 4);
+            for (long difference : new long[] { 0, 0, 10, 0, 0, 10, -10, 0 }) {
+                Varints.writeSigned(out, difference);
+            }
+            Varints.writeUnsigned(out, chordCount);
+            for (long value : values) {
+                Varints.writeUnsigned(out, value);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DataOutputStream header(ByteArrayOutputStream bytes) throws IOException {
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(SplitResultWriter.MAGIC);
+        out.writeByte(SplitResultWriter.VERSION);
+        out.writeDouble(1);
+        out.writeByte(0);
+        return out;
+    }
+
+    private static void assertPartsEqual(SplitResult expected, SplitResult actual) {
+        List<Polygon> expectedParts = expected.getParts();
+        List<Polygon> actualParts = actual.getParts();
+        assertEquals(expectedParts.size(), actualParts.size());
+        for (int i = 0; i < expectedParts.size(); i++) {
+            assertTrue(actualParts.get(i).toString(), actualParts.get(i).equalsExact(expectedParts.get(i), 1e-6));
+            assertEquals(expectedParts.get(i).getArea(), actualParts.get(i).getArea(), 1e-4);
+        }
+    }
+}
@@ -216,8 +216,57 @@ public class GeometryUtilsTest {
         }
     }
 
+    public static class IsCrossingTest {
+
+        @Test
+        public void crossingLines() throws Exception {
+            LineSegment line = new LineSegment(0, 0, 10, 10);
+
+            assertTrue(GeometryUtils.isCrossing(line, new LineSegment(0, 10, 10, 0)));
+            assertFalse(GeometryUtils.isCrossing(line, new LineSegment(0, 10, 4, 6)));          // would cross if extended
+        }
+
+        @Test
+        public void touchingLinesAreNotCrossing() throws Exception {
+            LineSegment line = new LineSegment(0, 0, 10, 10);
+
+            assertFalse(GeometryUtils.isCrossing(line, new LineSegment(0, 10, 5, 5)));          // endpoint on the other line
+            assertFalse(GeometryUtils.isCrossing(line, new LineSegment(10, 10, 20, 0)));        // shared endpoint
+            assertFalse(GeometryUtils.isCrossing(line, new LineSegment(5, 5, 20, 20)));         // collinear
+        }
+
+        @Test
+        public void endpointNearlyOnTheOtherLine() throws Exception {
+            LineSegment line = new LineSegment(0, 0, 3, 1);
+
+            // too close to the line for the floating point determinant, so the orientation is computed exactly
+            assertFalse(GeometryUtils.isCrossing(line, new LineSegment(1.5, Math.nextUp(0.5), 1.5, 10)));
+            assertFalse(GeometryUtils.isCrossing(line, new LineSegment(1.5, 0.5, 1.5, 10)));
+            assertTrue(GeometryUtils.isCrossing(line, new LineSegment(1.5, Math.nextDown(0.5), 1.5, 10)));
+        }
+
+        @Test
+        public void overlappingLines() throws Exception {
+            LineSegment line = new LineSegment(0, 0, 10, 10);
+
+            assertTrue(GeometryUtils.isOverlapping(line, new LineSegment(5, 5, 20, 20)));
+            assertTrue(GeometryUtils.isOverlapping(line, new LineSegment(8, 8, 2, 2)));
+            assertFalse(GeometryUtils.isOverlapping(line, new LineSegment(10, 10, 20, 20)));   // touching at a single point
+            assertFalse(GeometryUtils.isOverlapping(line, new LineSegment(0, 1, 10, 11)));     // parallel
+        }
+    }
+
     public static class IsPointOnLineSegmentTest {
 
+        @Test
+        public void pointOffTheLineByRoundingError() throws Exception {
+            LineSegment line = new LineSegment(0.1, 0.7, 1000.3, 300.9);
+            Coordinate pointAlong = line.pointAlong(0.3);
+
+            assertTrue(GeometryUtils.isPointOnLineSegment(pointAlong, line));
+            assertFalse(GeometryUtils.isPointOnLineSegment(new Coordinate(pointAlong.x, pointAlong.y + 1e-6), line));
+        }
+
         @Test
         public void includingEndpoints() throws Exception {
             Coordinate startPoint = new Coordinate(0, 0);
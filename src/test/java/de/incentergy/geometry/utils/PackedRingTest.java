@@ -0,0 +1,51 @@
+package de.incentergy.geometry.utils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+public class PackedRingTest {
+
+    @Test
+    public void closingVertexIsOmitted() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+        PackedRing ring = new PackedRing(polygon.getExteriorRing());
+
+        assertEquals(4, ring.getVertexCount());
+        assertEquals(90, ring.getX(2), 0);
+        assertEquals(50, ring.getY(2), 0);
+    }
+
+    @Test
+    public void vertexIndexesWrapAround() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+        PackedRing ring = new PackedRing(polygon.getExteriorRing());
+
+        assertEquals(new Coordinate(0, 0), ring.getCoordinate(4));
+        assertEquals(new Coordinate(100, 0), ring.getCoordinate(5));
+    }
+
+    @Test
+    public void convertsBackToClosedRing() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+        PackedRing ring = new PackedRing(polygon.getExteriorRing());
+
+        assertArrayEquals(polygon.getExteriorRing().getCoordinates(), ring.toCoordinates());
+    }
+
+    @Test
+    public void simplificationDropsVerticesWithinTolerance() throws Exception {
+        // the bottom side zigzags 0.5 off the straight line (its middle vertex is on the line between its neighbours), the top one has a vertex
+        // 5 off it
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 25 0.5, 50 0, 75 -0.5, 100 0, 100 50, 50 55, 0 50, 0 0))");
+        PackedRing ring = new PackedRing(polygon.getExteriorRing());
+
+        assertArrayEquals(new int[] { 0, 4, 5, 6, 7 }, ring.getSimplifiedVertices(1));
+        assertArrayEquals(new int[] { 0, 1, 3, 4, 5, 6, 7 }, ring.getSimplifiedVertices(0.1));
+    }
+}
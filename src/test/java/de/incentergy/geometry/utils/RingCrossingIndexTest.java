@@ -0,0 +1,50 @@
+package de.incentergy.geometry.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.LineSegment;
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+public class RingCrossingIndexTest {
+
+    @Test
+    public void touchesEdgesReturnsFalse() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 50 10, 50 0, 100 0, 90 50, 10 50, 0 0))");
+        RingCrossingIndex index = new RingCrossingIndex(polygon);
+
+        assertFalse(index.isIntersecting(new LineSegment(new Coordinate(60, 0), new Coordinate(90, 50))));
+        assertFalse(index.isIntersecting(new LineSegment(new Coordinate(0, 0), new Coordinate(75, 50))));
+    }
+
+    @Test
+    public void crossingEdgeReturnsTrue() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 50 10, 50 0, 100 0, 90 50, 10 50, 0 0))");
+        RingCrossingIndex index = new RingCrossingIndex(polygon);
+
+        assertTrue(index.isIntersecting(new LineSegment(new Coordinate(0, 0), new Coordinate(100, 100))));
+        assertTrue(index.isIntersecting(new LineSegment(new Coordinate(0, 0), new Coordinate(60, 10))));
+    }
+
+    @Test
+    public void sameResultAsUnindexedCheck() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 0 30, 10 30, 10 10, 20 10, 20 20, 30 20, 30 0, 0 0))");
+        RingCrossingIndex index = new RingCrossingIndex(polygon);
+
+        // check lines between midpoints of all edges
+        List<LineSegment> edges = GeometryUtils.getLineSegments(polygon.getExteriorRing());
+        for (LineSegment edgeA : edges) {
+            for (LineSegment edgeB : edges) {
+                LineSegment line = new LineSegment(edgeA.midPoint(), edgeB.midPoint());
+                assertEquals(line.toString(), GeometryUtils.isIntersectingPolygon(line, polygon), index.isIntersecting(line));
+            }
+        }
+    }
+}
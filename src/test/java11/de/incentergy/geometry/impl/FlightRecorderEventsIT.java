@@ -0,0 +1,95 @@
+package de.incentergy.geometry.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vividsolutions.jts.geom.Polygon;
+import com.vividsolutions.jts.io.WKTReader;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightRecorderEventsIT {
+
+    private static final String SPLIT_EVENT = "de.incentergy.geometry.Split";
+    private static final String ITERATION_EVENT = "de.incentergy.geometry.Iteration";
+
+    private Recording recording;
+
+    @Before
+    public void startRecording() {
+        recording = new Recording();
+        recording.enable(SPLIT_EVENT);
+        recording.enable(ITERATION_EVENT);
+        recording.start();
+    }
+
+    @After
+    public void closeRecording() {
+        recording.close();
+    }
+
+    @Test
+    public void splitAndIterationsAreRecorded() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+
+        new GreedyPolygonSplitter().split(polygon, 3);
+
+        List<RecordedEvent> events = stopRecording();
+        List<RecordedEvent> splitEvents = eventsNamed(events, SPLIT_EVENT);
+        assertEquals(1, splitEvents.size());
+        assertEquals(5, splitEvents.get(0).getInt("vertexCount"));
+        assertEquals(3, splitEvents.get(0).getInt("numberOfParts"));
+        assertEquals(2, eventsNamed(events, ITERATION_EVENT).size());
+    }
+
+    @Test
+    public void failedSplitIsRecorded() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+
+        try {
+            new GreedyPolygonSplitter().split(polygon, 1);
+            fail("Number of parts should have been rejected");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+
+        List<RecordedEvent> splitEvents = eventsNamed(stopRecording(), SPLIT_EVENT);
+        assertEquals(1, splitEvents.size());
+        assertEquals(1, splitEvents.get(0).getInt("numberOfParts"));
+    }
+
+    @Test
+    public void splitOfRecursiveBisectionIsRecorded() throws Exception {
+        Polygon polygon = (Polygon) new WKTReader().read("POLYGON ((0 0, 100 0, 90 50, 10 50, 0 0))");
+
+        new RecursiveBisectionPolygonSplitter().split(polygon, 4);
+
+        assertEquals(1, eventsNamed(stopRecording(), SPLIT_EVENT).size());
+    }
+
+    private List<RecordedEvent> stopRecording() throws Exception {
+        recording.stop();
+        Path file = Files.createTempFile("polysplit", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+}